@@ -0,0 +1,89 @@
+-- EXPLAIN checks for the dashboard queries in TransactionDAO.
+-- Documents the expected plans; com.financeapp.dao.QueryPlanCheck runs the same queries through
+-- EXPLAIN and fails if any row for transactions or monthly_rollups shows type = ALL (full table scan).
+
+USE finance_app_db;
+
+-- getTotalIncomeForMonth / getTotalExpensesForMonth (monthly_rollups)
+-- Expected: type = ref, key = idx_monthly_rollups_user_type_month, Extra = Using index
+EXPLAIN SELECT COALESCE(SUM(total), 0) FROM monthly_rollups
+WHERE user_id = 1 AND type = 'Income' AND year = 2025 AND month = 6;
+
+EXPLAIN SELECT COALESCE(SUM(total), 0) FROM monthly_rollups
+WHERE user_id = 1 AND type = 'Expense' AND year = 2025 AND month = 6;
+
+-- getTotalExpenseForCategoryMonthYear (monthly_rollups)
+-- Expected: type = const, key = PRIMARY
+EXPLAIN SELECT COALESCE(SUM(total), 0) FROM monthly_rollups
+WHERE user_id = 1 AND category_id = 5 AND type = 'Expense' AND year = 2025 AND month = 6;
+
+-- getExpenseCategoriesBreakdown (monthly_rollups)
+-- Expected for r: type = ref, key = idx_monthly_rollups_user_type_month; c: eq_ref on PRIMARY
+EXPLAIN SELECT c.category_name, SUM(r.total) AS total_amount
+FROM monthly_rollups r
+JOIN categories c ON c.category_id = r.category_id AND c.user_id = r.user_id
+WHERE r.user_id = 1 AND r.type = 'Expense' AND r.year = 2025 AND r.month = 6
+  AND c.category_type = 'Expense'
+GROUP BY c.category_name
+HAVING SUM(r.total) > 0;
+
+-- getMonthlyExpenses (monthly_rollups, window starting 2024-12)
+-- Expected: type = range, key = idx_monthly_rollups_user_type_month, Extra = Using index
+EXPLAIN SELECT year, month, SUM(total) AS total_expense
+FROM monthly_rollups
+WHERE user_id = 1 AND type = 'Expense' AND (year > 2024 OR (year = 2024 AND month >= 12))
+GROUP BY year, month;
+
+-- getBudgetsWithSpentByUserId (BudgetDAO, monthly_rollups)
+-- Expected for r: type = eq_ref, key = PRIMARY
+EXPLAIN SELECT b.budget_id, c.category_name, COALESCE(r.total, 0) AS amount_spent
+FROM budgets b
+JOIN categories c ON b.category_id = c.category_id
+LEFT JOIN monthly_rollups r ON r.user_id = b.user_id AND r.category_id = b.category_id
+    AND r.type = 'Expense' AND r.year = b.year AND r.month = b.month
+WHERE b.user_id = 1
+ORDER BY b.year DESC, b.month DESC, c.category_name ASC;
+
+-- getHistoricalMonthlySpendingForCategory
+-- Expected: type = range, key = idx_transactions_user_category_type_date
+EXPLAIN SELECT COALESCE(SUM(amount), 0) AS total_expense
+FROM transactions
+WHERE user_id = 1 AND category_id = 5 AND type = 'Expense'
+  AND transaction_date <= CURDATE() AND transaction_date >= DATE_SUB(CURDATE(), INTERVAL 3 MONTH)
+GROUP BY YEAR(transaction_date), MONTH(transaction_date)
+ORDER BY YEAR(transaction_date) ASC, MONTH(transaction_date) ASC;
+
+-- getTransactionsPage (second page, cursor at 2025-03-07 / id 120)
+-- Expected: type = range, key = idx_transactions_user_date, no "Using filesort"
+EXPLAIN SELECT t.*, c.category_name, a.account_name
+FROM transactions t
+JOIN categories c ON t.category_id = c.category_id
+JOIN accounts a ON t.account_id = a.account_id
+WHERE t.user_id = 1 AND (t.transaction_date < '2025-03-07' OR (t.transaction_date = '2025-03-07' AND t.transaction_id < 120))
+ORDER BY t.transaction_date DESC, t.transaction_id DESC
+LIMIT 200;
+
+-- getGlobalStatistics (admin)
+-- Expected: type = index, key = idx_transactions_type_category, "Using index"
+EXPLAIN SELECT type, COUNT(*) AS transaction_count, COALESCE(SUM(amount), 0) AS total_amount
+FROM transactions GROUP BY type;
+
+-- getTopExpenseCategories (admin)
+-- Expected: t: type = ref, key = idx_transactions_type_category, "Using index"; c: eq_ref on PRIMARY
+EXPLAIN SELECT c.category_name, SUM(t.amount) AS total_expense
+FROM transactions t
+JOIN categories c ON t.category_id = c.category_id
+WHERE t.type = 'Expense'
+GROUP BY c.category_name
+ORDER BY total_expense DESC
+LIMIT 5;
+
+-- getAllTransactionsPage (admin, second page, cursor at 2025-03-07 / id 120)
+-- Expected: t: type = range, key = idx_transactions_date, no "Using filesort"
+EXPLAIN SELECT t.*, c.category_name, a.account_name
+FROM transactions t
+JOIN categories c ON t.category_id = c.category_id
+JOIN accounts a ON t.account_id = a.account_id
+WHERE (t.transaction_date < '2025-03-07' OR (t.transaction_date = '2025-03-07' AND t.transaction_id < 120))
+ORDER BY t.transaction_date DESC, t.transaction_id DESC
+LIMIT 200;
@@ -0,0 +1,15 @@
+-- Migration 001: composite indexes for dashboard queries on transactions
+-- Run once against an existing finance_app_db created from an older schema.sql.
+-- (A fresh schema.sql already contains these indexes.)
+
+USE finance_app_db;
+
+-- Monthly income/expense totals, last-6-months chart and daily trend line:
+--   WHERE user_id = ? AND type = ? AND transaction_date >= ? AND transaction_date < ?
+ALTER TABLE transactions
+    ADD INDEX idx_transactions_user_type_date (user_id, type, transaction_date, amount);
+
+-- Per-category totals for budgets, the category pie chart and expense predictions:
+--   WHERE user_id = ? AND category_id = ? AND type = 'Expense' AND transaction_date >= ? AND transaction_date < ?
+ALTER TABLE transactions
+    ADD INDEX idx_transactions_user_category_type_date (user_id, category_id, type, transaction_date, amount);
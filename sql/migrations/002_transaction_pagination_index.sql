@@ -0,0 +1,11 @@
+-- Migration 002: index for keyset pagination of the transaction list
+-- Run once against an existing finance_app_db created from an older schema.sql.
+
+USE finance_app_db;
+
+-- TransactionDAO.getTransactionsPage:
+--   WHERE user_id = ? AND (transaction_date < ? OR (transaction_date = ? AND transaction_id < ?))
+--   ORDER BY transaction_date DESC, transaction_id DESC LIMIT ?
+-- InnoDB secondary indexes carry the primary key, so this index is ordered by (user_id, transaction_date, transaction_id).
+ALTER TABLE transactions
+    ADD INDEX idx_transactions_user_date (user_id, transaction_date);
@@ -0,0 +1,10 @@
+-- Migration 003: index for the admin dashboard's global statistics
+-- Run once against an existing finance_app_db created from an older schema.sql.
+
+USE finance_app_db;
+
+-- TransactionDAO.getGlobalStatistics:   SELECT type, COUNT(*), SUM(amount) FROM transactions GROUP BY type
+-- TransactionDAO.getTopExpenseCategories: WHERE type = 'Expense' GROUP BY category (joined by category_id)
+-- Both read only (type, category_id, amount), so they scan this narrow index instead of the table rows.
+ALTER TABLE transactions
+    ADD INDEX idx_transactions_type_category (type, category_id, amount);
@@ -0,0 +1,11 @@
+-- Migration 004: index for keyset pagination of the admin's all-transactions list
+-- Run once against an existing finance_app_db created from an older schema.sql.
+
+USE finance_app_db;
+
+-- TransactionDAO.getAllTransactionsPage:
+--   WHERE (transaction_date < ? OR (transaction_date = ? AND transaction_id < ?))
+--   ORDER BY transaction_date DESC, transaction_id DESC LIMIT ?
+-- InnoDB secondary indexes carry the primary key, so this index is ordered by (transaction_date, transaction_id).
+ALTER TABLE transactions
+    ADD INDEX idx_transactions_date (transaction_date);
@@ -0,0 +1,29 @@
+-- Migration 005: materialized monthly rollups of transactions
+-- Run once against an existing finance_app_db created from an older schema.sql.
+
+USE finance_app_db;
+
+-- One row per user, category, type and month; kept up to date by TransactionDAO and AccountDAO
+-- in the same database transaction as each write to transactions. Dashboard totals, charts and
+-- budget spending read from here instead of aggregating the transactions table.
+CREATE TABLE IF NOT EXISTS monthly_rollups (
+    user_id INT NOT NULL,
+    category_id INT NOT NULL,
+    type ENUM('Income', 'Expense') NOT NULL,
+    year SMALLINT NOT NULL,
+    month TINYINT NOT NULL, -- Month (1-12)
+    total DECIMAL(14, 2) NOT NULL DEFAULT 0.00,
+    txn_count INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, category_id, type, year, month),
+    INDEX idx_monthly_rollups_user_type_month (user_id, type, year, month, total),
+    FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE,
+    FOREIGN KEY (category_id) REFERENCES categories(category_id) ON DELETE CASCADE
+);
+
+-- Backfill from the existing transactions. Run this while the application is stopped, or use
+-- "Rebuild Rollups" on the admin dashboard afterwards to reconcile writes made in the meantime.
+DELETE FROM monthly_rollups;
+INSERT INTO monthly_rollups (user_id, category_id, type, year, month, total, txn_count)
+SELECT user_id, category_id, type, YEAR(transaction_date), MONTH(transaction_date), SUM(amount), COUNT(*)
+FROM transactions
+GROUP BY user_id, category_id, type, YEAR(transaction_date), MONTH(transaction_date);
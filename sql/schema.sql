@@ -54,6 +54,16 @@ CREATE TABLE IF NOT EXISTS transactions (
     description TEXT,
     transaction_date DATE NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- Covering index for monthly income/expense totals and date-range charts
+    INDEX idx_transactions_user_type_date (user_id, type, transaction_date, amount),
+    -- Covering index for per-category totals (budgets, category breakdown, predictions)
+    INDEX idx_transactions_user_category_type_date (user_id, category_id, type, transaction_date, amount),
+    -- Keyset pagination of the transaction list (InnoDB appends transaction_id to secondary indexes)
+    INDEX idx_transactions_user_date (user_id, transaction_date),
+    -- Covering index for the admin dashboard's global totals and top expense categories
+    INDEX idx_transactions_type_category (type, category_id, amount),
+    -- Keyset pagination of the admin's all-transactions list
+    INDEX idx_transactions_date (transaction_date),
     FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE,
     FOREIGN KEY (account_id) REFERENCES accounts(account_id) ON DELETE CASCADE,
     FOREIGN KEY (category_id) REFERENCES categories(category_id) ON DELETE CASCADE
@@ -74,6 +84,25 @@ CREATE TABLE IF NOT EXISTS budgets (
     FOREIGN KEY (category_id) REFERENCES categories(category_id) ON DELETE CASCADE
 );
 
+-- Table for Monthly Rollups
+-- Total amount and number of transactions per user, category, type and month.
+-- Maintained by the application in the same database transaction as every write to transactions;
+-- MonthlyRollupDAO can verify it against the transactions and rebuild it.
+CREATE TABLE IF NOT EXISTS monthly_rollups (
+    user_id INT NOT NULL,
+    category_id INT NOT NULL,
+    type ENUM('Income', 'Expense') NOT NULL,
+    year SMALLINT NOT NULL,
+    month TINYINT NOT NULL, -- Month (1-12)
+    total DECIMAL(14, 2) NOT NULL DEFAULT 0.00,
+    txn_count INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, category_id, type, year, month),
+    -- Covering index for monthly income/expense totals and the monthly expense chart
+    INDEX idx_monthly_rollups_user_type_month (user_id, type, year, month, total),
+    FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE,
+    FOREIGN KEY (category_id) REFERENCES categories(category_id) ON DELETE CASCADE
+);
+
 --
 -- DUMMY DATA INSERTS BELOW
 --
@@ -326,3 +355,9 @@ SET current_balance = (
     COALESCE((SELECT SUM(t.amount) FROM transactions t WHERE t.account_id = acc.account_id AND t.type = 'Income'), 0.00)
 )
 WHERE acc.user_id = 1 AND acc.account_type = 'Credit Card';
+
+-- Fill the monthly rollups from the dummy transactions inserted above
+INSERT INTO monthly_rollups (user_id, category_id, type, year, month, total, txn_count)
+SELECT user_id, category_id, type, YEAR(transaction_date), MONTH(transaction_date), SUM(amount), COUNT(*)
+FROM transactions
+GROUP BY user_id, category_id, type, YEAR(transaction_date), MONTH(transaction_date);
@@ -1,8 +1,12 @@
 // src/main/java/com/financeapp/Main.java
 package com.financeapp;
 
+import com.financeapp.dao.AsyncDAO;
 import com.financeapp.dao.DatabaseConnection;
+import com.financeapp.utils.BackgroundExecutor;
+import com.financeapp.utils.WekaPredictor;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
@@ -39,6 +43,13 @@ public class Main extends Application {
             System.exit(1);
         }
 
+        // Load the prediction models while the login screen is showing, so opening the dashboard does not wait for them
+        WekaPredictor.initializeAsync().exceptionally(error -> {
+            LOGGER.log(Level.SEVERE, "Weka models could not be loaded: " + error.getMessage(), error);
+            Platform.runLater(WekaPredictor::showInitializationError);
+            return null;
+        });
+
         // Load the Login FXML
         FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("/com/financeapp/view/Login.fxml"));
         Scene scene = new Scene(fxmlLoader.load(), 800, 600); // Set initial scene size
@@ -49,6 +60,16 @@ public class Main extends Application {
         stage.show();
     }
 
+    /**
+     * Called when the application exits. Stops background loads and releases pooled database connections.
+     */
+    @Override
+    public void stop() {
+        BackgroundExecutor.shutdown();
+        AsyncDAO.shutdown();
+        DatabaseConnection.shutdown();
+    }
+
     /**
      * Tests the database connection.
      * @return true if the connection is successful, false otherwise.
@@ -5,13 +5,19 @@ import com.financeapp.dao.*;
 import com.financeapp.model.Account;
 import com.financeapp.model.Budget;
 import com.financeapp.model.Category;
+import com.financeapp.model.GlobalStatistics;
 import com.financeapp.model.Transaction;
 import com.financeapp.model.User;
 import com.financeapp.utils.AlertUtil;
+import com.financeapp.utils.BackgroundExecutor;
+import com.financeapp.utils.DashboardCache;
+import com.financeapp.utils.PagedTableLoader;
 import com.financeapp.utils.SessionManager;
+import com.financeapp.utils.TransactionCsvExporter;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -22,9 +28,11 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
+import java.io.File;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -32,9 +40,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 /**
  * Controller for the Admin Dashboard.
@@ -44,11 +53,16 @@ import java.util.stream.Collectors;
 public class AdminDashboardController {
 
     private static final Logger LOGGER = Logger.getLogger(AdminDashboardController.class.getName());
+    private static final int TOP_CATEGORY_COUNT = 5; // Number of categories listed under "Top Expense Categories"
+    private static final int TRANSACTION_PAGE_SIZE = 200; // Rows fetched per scroll page in the all-transactions table
     private final UserDAO userDAO = new UserDAO();
     private final TransactionDAO transactionDAO = new TransactionDAO();
     private final BudgetDAO budgetDAO = new BudgetDAO();
     private final CategoryDAO categoryDAO = new CategoryDAO();
+    private final AccountDAO accountDAO = new AccountDAO();
+    private final MonthlyRollupDAO monthlyRollupDAO = new MonthlyRollupDAO();
     private User currentAdminUser;
+    private PagedTableLoader<Transaction> allTransactionsLoader;
 
     @FXML private Label adminWelcomeLabel;
     @FXML private TabPane adminTabPane;
@@ -72,6 +86,8 @@ public class AdminDashboardController {
     @FXML private TableColumn<Transaction, String> colAllTransDescription;
     @FXML private TableColumn<Transaction, LocalDate> colAllTransDate;
     @FXML private TableColumn<Transaction, LocalDateTime> colAllTransCreatedAt;
+    @FXML private Button exportTransactionsButton;
+    @FXML private ProgressBar exportProgressBar;
 
     // All Budgets Tab
     @FXML private TableView<Budget> allBudgetTable;
@@ -91,6 +107,8 @@ public class AdminDashboardController {
     @FXML private Label overallExpensesLabel;
     @FXML private Label avgTransactionsPerUserLabel;
     @FXML private VBox topCategoriesVBox;
+    @FXML private Button verifyRollupsButton;
+    @FXML private Button rebuildRollupsButton;
 
     /**
      * Initializes the controller. This method is automatically called after the FXML file has been loaded.
@@ -124,6 +142,8 @@ public class AdminDashboardController {
         colUserCreatedAt.setCellValueFactory(new PropertyValueFactory<>("createdAt"));
 
         // Initialize All Transactions Table columns
+        // Username, category and account lookups below are served by the DAOs' entity caches,
+        // so re-rendering cells while scrolling does not go to the database.
         colAllTransId.setCellValueFactory(new PropertyValueFactory<>("transactionId"));
         colAllTransUserId.setCellValueFactory(new PropertyValueFactory<>("userId"));
         colAllTransUsername.setCellValueFactory(cellData -> {
@@ -151,13 +171,19 @@ public class AdminDashboardController {
         });
         // Display account name using account_id
         colAllTransAccount.setCellValueFactory(cellData -> {
-            Account account = new AccountDAO().getAccountById(cellData.getValue().getAccountId());
+            Account account = accountDAO.getAccountById(cellData.getValue().getAccountId());
             return new javafx.beans.property.SimpleStringProperty(account != null ? account.getAccountName() : "N/A");
         });
         colAllTransDescription.setCellValueFactory(new PropertyValueFactory<>("description"));
         colAllTransDate.setCellValueFactory(new PropertyValueFactory<>("transactionDate"));
         colAllTransCreatedAt.setCellValueFactory(new PropertyValueFactory<>("createdAt"));
 
+        // All transactions are loaded page by page as the admin scrolls, never all at once
+        allTransactionsLoader = new PagedTableLoader<>(allTransactionTable, TRANSACTION_PAGE_SIZE, (lastTransaction, limit) ->
+                lastTransaction == null
+                        ? transactionDAO.getAllTransactionsPage(null, 0, limit)
+                        : transactionDAO.getAllTransactionsPage(lastTransaction.getTransactionDate(), lastTransaction.getTransactionId(), limit));
+
         // Initialize All Budgets Table columns
         colAllBudgetId.setCellValueFactory(new PropertyValueFactory<>("budgetId"));
         colAllBudgetUserId.setCellValueFactory(new PropertyValueFactory<>("userId"));
@@ -238,6 +264,7 @@ public class AdminDashboardController {
 
         if (result.isPresent() && result.get() == ButtonType.OK) {
             if (userDAO.deleteUser(selectedUser.getUserId())) {
+                DashboardCache.getInstance().invalidateUser(selectedUser.getUserId());
                 AlertUtil.showInfo("Success", "User Deleted", "User " + selectedUser.getUsername() + " has been successfully deleted.");
                 refreshAdminDashboard();
             } else {
@@ -338,14 +365,55 @@ public class AdminDashboardController {
     // --- All Transactions ---
 
     /**
-     * Refreshes the table showing all transactions from all users.
-     * Includes a lookup for username, category, and account for display.
+     * Refreshes the table showing all transactions from all users, newest first.
+     * Only the first page is loaded; further pages are fetched as the admin scrolls down.
      */
     @FXML
     private void refreshAllTransactions() {
-        List<Transaction> transactions = transactionDAO.getAllTransactions();
-        ObservableList<Transaction> observableTransactions = FXCollections.observableArrayList(transactions);
-        allTransactionTable.setItems(observableTransactions);
+        allTransactionsLoader.reload();
+    }
+
+    /**
+     * Handles exporting all transactions to a CSV file. The rows are streamed from the database
+     * in the background, so the export works however large the table is.
+     * @param event The ActionEvent that triggered this method.
+     */
+    @FXML
+    private void handleExportTransactions(ActionEvent event) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export All Transactions");
+        fileChooser.setInitialFileName("transactions.csv");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        File file = fileChooser.showSaveDialog(allTransactionTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        TransactionCsvExporter exporter = new TransactionCsvExporter(file.toPath());
+        exportProgressBar.progressProperty().bind(exporter.progressProperty());
+        exportProgressBar.setVisible(true);
+        exportTransactionsButton.setDisable(true);
+
+        exporter.setOnSucceeded(e -> {
+            finishExport();
+            AlertUtil.showInfo("Export Complete", "Transactions Exported",
+                    String.format("%d transactions written to %s.", exporter.getValue(), file.getName()));
+        });
+        exporter.setOnFailed(e -> {
+            finishExport();
+            LOGGER.log(Level.SEVERE, "Transaction export failed: " + exporter.getException().getMessage(), exporter.getException());
+            AlertUtil.showError("Export Failed", "Could not export transactions.", exporter.getException().getMessage());
+        });
+        BackgroundExecutor.submit(exporter);
+    }
+
+    /**
+     * Hides the export progress bar and re-enables the export button.
+     */
+    private void finishExport() {
+        exportProgressBar.progressProperty().unbind();
+        exportProgressBar.setVisible(false);
+        exportTransactionsButton.setDisable(false);
     }
 
     // --- All Budgets ---
@@ -365,54 +433,106 @@ public class AdminDashboardController {
 
     /**
      * Updates the global statistics displayed on the admin dashboard.
+     * All totals are aggregated by the database; no transactions are loaded into memory.
+     * The two queries run in parallel off the JavaFX thread and the labels are filled in when both finish.
      */
     private void updateGlobalStatistics() {
-        List<User> allUsers = userDAO.getAllUsers();
-        List<Transaction> allTransactions = transactionDAO.getAllTransactions();
-
-        totalUsersLabel.setText(String.valueOf(allUsers.size()));
-        totalTransactionsLabel.setText(String.valueOf(allTransactions.size()));
-
-        double overallIncome = allTransactions.stream()
-                .filter(t -> t.getType().equals("Income"))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
-        overallIncomeLabel.setText(String.format("₹%.2f", overallIncome));
-
-        double overallExpenses = allTransactions.stream()
-                .filter(t -> t.getType().equals("Expense"))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
-        overallExpensesLabel.setText(String.format("₹%.2f", overallExpenses));
-
-        double avgTransPerUser = (allUsers.size() > 0) ? (double) allTransactions.size() / allUsers.size() : 0.0;
-        avgTransactionsPerUserLabel.setText(String.format("%.2f", avgTransPerUser)); // No currency symbol for average count
-
-        // Top Expense Categories (All Users)
-        Map<String, Double> allExpenseCategoriesBreakdown = allTransactions.stream()
-                .filter(t -> t.getType().equals("Expense"))
-                .collect(Collectors.groupingBy(t -> {
-                    Category category = categoryDAO.getCategoryById(t.getCategoryId());
-                    return category != null ? category.getCategoryName() : "Unknown";
-                }, Collectors.summingDouble(Transaction::getAmount)));
-
-        List<Map.Entry<String, Double>> sortedCategories = allExpenseCategoriesBreakdown.entrySet().stream()
-                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
-                .limit(5)
-                .collect(Collectors.toList());
+        CompletableFuture<GlobalStatistics> stats = AsyncDAO.transactions(TransactionDAO::getGlobalStatistics);
+        CompletableFuture<Map<String, Double>> topCategories = // Top Expense Categories (All Users)
+                AsyncDAO.transactions(dao -> dao.getTopExpenseCategories(TOP_CATEGORY_COUNT));
+
+        stats.thenAcceptBothAsync(topCategories, this::renderGlobalStatistics, Platform::runLater)
+                .exceptionally(e -> {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e; // Unwrap CompletionException
+                    LOGGER.log(Level.SEVERE, "Error loading global statistics: " + cause.getMessage(), cause);
+                    Platform.runLater(() -> AlertUtil.showError("Load Error", "Could not load global statistics.", cause.getMessage()));
+                    return null;
+                });
+    }
+
+    private void renderGlobalStatistics(GlobalStatistics stats, Map<String, Double> topCategories) {
+        totalUsersLabel.setText(String.valueOf(stats.getUserCount()));
+        totalTransactionsLabel.setText(String.valueOf(stats.getTransactionCount()));
+        overallIncomeLabel.setText(String.format("₹%.2f", stats.getTotalIncome()));
+        overallExpensesLabel.setText(String.format("₹%.2f", stats.getTotalExpenses()));
+        avgTransactionsPerUserLabel.setText(String.format("%.2f", stats.getAverageTransactionsPerUser())); // No currency symbol for average count
 
         topCategoriesVBox.getChildren().clear();
         topCategoriesVBox.getChildren().add(new Label("Top Expense Categories:"));
         topCategoriesVBox.getChildren().add(new Label("Category: Total Amount")); // Header
-        if (sortedCategories.isEmpty()) {
+        if (topCategories.isEmpty()) {
             topCategoriesVBox.getChildren().add(new Label("No expense data available."));
         } else {
-            for (Map.Entry<String, Double> entry : sortedCategories) {
+            for (Map.Entry<String, Double> entry : topCategories.entrySet()) {
                 topCategoriesVBox.getChildren().add(new Label(String.format("- %s: ₹%.2f", entry.getKey(), entry.getValue())));
             }
         }
     }
 
+    /**
+     * Compares the monthly rollups that feed the user dashboards with the raw transactions, in the background.
+     * @param event The ActionEvent that triggered this method.
+     */
+    @FXML
+    private void handleVerifyRollups(ActionEvent event) {
+        runRollupTask(new Task<Integer>() {
+            @Override
+            protected Integer call() {
+                return monthlyRollupDAO.verify();
+            }
+        }, mismatches -> {
+            if (mismatches < 0) {
+                AlertUtil.showError("Verification Failed", "Could not verify the monthly rollups.", "See the application log for details.");
+            } else if (mismatches == 0) {
+                AlertUtil.showInfo("Rollups Verified", "Monthly rollups are consistent.", "The rollups match the transactions.");
+            } else {
+                AlertUtil.showWarning("Rollups Out of Sync",
+                        String.format("%d monthly rollup rows do not match the transactions.", mismatches),
+                        "Use 'Rebuild Rollups' to recompute them.");
+            }
+        });
+    }
+
+    /**
+     * Recomputes the monthly rollups from the raw transactions, in the background.
+     * @param event The ActionEvent that triggered this method.
+     */
+    @FXML
+    private void handleRebuildRollups(ActionEvent event) {
+        runRollupTask(new Task<Boolean>() {
+            @Override
+            protected Boolean call() {
+                return monthlyRollupDAO.rebuild();
+            }
+        }, rebuilt -> {
+            if (rebuilt) {
+                AlertUtil.showInfo("Rollups Rebuilt", "Monthly rollups rebuilt.", "The rollups now match the transactions.");
+            } else {
+                AlertUtil.showError("Rebuild Failed", "Could not rebuild the monthly rollups.", "See the application log for details.");
+            }
+        });
+    }
+
+    /**
+     * Runs a rollup maintenance task with the rollup buttons disabled, then passes its result to the callback.
+     */
+    private <T> void runRollupTask(Task<T> task, Consumer<T> onResult) {
+        verifyRollupsButton.setDisable(true);
+        rebuildRollupsButton.setDisable(true);
+        task.setOnSucceeded(e -> {
+            verifyRollupsButton.setDisable(false);
+            rebuildRollupsButton.setDisable(false);
+            onResult.accept(task.getValue());
+        });
+        task.setOnFailed(e -> {
+            verifyRollupsButton.setDisable(false);
+            rebuildRollupsButton.setDisable(false);
+            LOGGER.log(Level.SEVERE, "Rollup maintenance failed: " + task.getException().getMessage(), task.getException());
+            AlertUtil.showError("Rollup Maintenance Failed", "Could not check the monthly rollups.", task.getException().getMessage());
+        });
+        BackgroundExecutor.submit(task);
+    }
+
     // --- Logout ---
 
     /**
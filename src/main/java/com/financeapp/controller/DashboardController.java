@@ -4,21 +4,31 @@ package com.financeapp.controller;
 import com.financeapp.dao.AccountDAO;
 import com.financeapp.dao.BudgetDAO;
 import com.financeapp.dao.CategoryDAO;
+import com.financeapp.dao.DataChangeNotifier;
+import com.financeapp.dao.DataChangeNotifier.EntityType;
 import com.financeapp.dao.TransactionDAO;
+import com.financeapp.dao.UnitOfWork;
 import com.financeapp.model.Account;
 import com.financeapp.model.Budget;
 import com.financeapp.model.Category;
 import com.financeapp.model.Transaction;
 import com.financeapp.model.User;
 import com.financeapp.utils.AlertUtil;
+import com.financeapp.utils.BackgroundExecutor;
+import com.financeapp.utils.DashboardCache;
+import com.financeapp.utils.NaiveBayesCategorizer;
+import com.financeapp.utils.PagedTableLoader;
 import com.financeapp.utils.SessionManager;
+import com.financeapp.utils.StatementImporter;
 import com.financeapp.utils.WekaPredictor; // Import your WekaPredictor
+import com.financeapp.utils.ZoomableDateChart;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -26,11 +36,14 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.chart.*;
 import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
+import java.io.File;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -38,14 +51,20 @@ import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 /**
  * Controller for the main user Dashboard.
@@ -55,11 +74,54 @@ import java.util.stream.Collectors;
 public class DashboardController {
 
     private static final Logger LOGGER = Logger.getLogger(DashboardController.class.getName());
+    private static final int TRANSACTION_PAGE_SIZE = 200; // Rows fetched per scroll page in the transactions table
+    private static final int TREND_OVERVIEW_MAX_POINTS = 2000; // Cap on all-time trend points, above any chart width in pixels
+
+    /**
+     * The independently loaded parts of the dashboard, with the tab that shows them, the kinds of writes that
+     * make them stale, and their {@link DashboardCache} component (if their data is cached across refreshes).
+     */
+    private enum Panel {
+        SUMMARY("Overview", DashboardCache.Component.SUMMARY, EntityType.TRANSACTION, EntityType.CATEGORY),
+        CHARTS("Overview", DashboardCache.Component.CHARTS, EntityType.TRANSACTION, EntityType.CATEGORY),
+        PREDICTIONS("Overview", DashboardCache.Component.PREDICTIONS, EntityType.TRANSACTION, EntityType.CATEGORY),
+        // Rows show the joined account and category names
+        TRANSACTIONS("Transactions List", null, EntityType.TRANSACTION, EntityType.ACCOUNT, EntityType.CATEGORY),
+        BUDGETS("Budgeting", DashboardCache.Component.BUDGETS, EntityType.TRANSACTION, EntityType.BUDGET, EntityType.CATEGORY),
+        // Current balances change with every transaction
+        ACCOUNTS("Accounts", null, EntityType.ACCOUNT, EntityType.TRANSACTION),
+        CATEGORIES("Categories", null, EntityType.CATEGORY);
+
+        private final String tabText;
+        private final DashboardCache.Component cacheComponent;
+        private final Set<EntityType> dependencies;
+
+        Panel(String tabText, DashboardCache.Component cacheComponent, EntityType first, EntityType... rest) {
+            this.tabText = tabText;
+            this.cacheComponent = cacheComponent;
+            this.dependencies = EnumSet.of(first, rest);
+        }
+
+        boolean dependsOn(EntityType type) {
+            return dependencies.contains(type);
+        }
+    }
+
     private final TransactionDAO transactionDAO = new TransactionDAO();
     private final BudgetDAO budgetDAO = new BudgetDAO();
     private final AccountDAO accountDAO = new AccountDAO();
     private final CategoryDAO categoryDAO = new CategoryDAO();
     private User currentUser;
+    private PagedTableLoader<Transaction> transactionLoader;
+    private ZoomableDateChart trendChart;
+    private final Map<Panel, Task<?>> panelTasks = new EnumMap<>(Panel.class); // Panel loads in progress
+    // Panels whose data changed since they were last loaded; written by DAO change notifications from any thread
+    private final Set<Panel> dirtyPanels = ConcurrentHashMap.newKeySet();
+    private final DataChangeNotifier.Listener dataChangeListener = this::onDataChanged;
+    private boolean loadFailureReported; // Show at most one error alert per refresh
+    private final DashboardCache dashboardCache = DashboardCache.getInstance();
+    // The value each cached component was last rendered from, so an unchanged cache hit is not re-rendered
+    private final Map<DashboardCache.Component, Object> renderedValues = new EnumMap<>(DashboardCache.Component.class);
 
     @FXML private Label welcomeLabel;
     @FXML private TabPane dashboardTabPane;
@@ -74,9 +136,12 @@ public class DashboardController {
     @FXML private BarChart<String, Number> monthlyExpensesBarChart;
     @FXML private CategoryAxis monthlyExpensesXAxis;
     @FXML private NumberAxis monthlyExpensesYAxis;
-    @FXML private LineChart<String, Number> expenseTrendsLineChart;
-    @FXML private CategoryAxis expenseTrendsXAxis;
+    @FXML private LineChart<Number, Number> expenseTrendsLineChart;
+    @FXML private NumberAxis expenseTrendsXAxis;
     @FXML private NumberAxis expenseTrendsYAxis;
+    @FXML private ProgressIndicator summaryLoadingIndicator;
+    @FXML private ProgressIndicator predictionsLoadingIndicator;
+    @FXML private ProgressIndicator chartsLoadingIndicator;
 
     // Transactions List Tab
     @FXML private TableView<Transaction> transactionTable;
@@ -86,6 +151,10 @@ public class DashboardController {
     @FXML private TableColumn<Transaction, String> colTransCategory;
     @FXML private TableColumn<Transaction, String> colTransDescription;
     @FXML private TableColumn<Transaction, String> colTransAccount;
+    @FXML private Button importStatementButton;
+    @FXML private HBox importProgressBox;
+    @FXML private ProgressBar importProgressBar;
+    @FXML private Label importStatusLabel;
 
     // Budgeting Tab
     @FXML private TableView<BudgetWrapper> budgetTable;
@@ -145,11 +214,19 @@ public class DashboardController {
         colTransType.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getType()));
         colTransCategory.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getCategoryName()));
         colTransDescription.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getDescription()));
+        // The account name is joined into each page, so rendering a cell never goes to the database
         colTransAccount.setCellValueFactory(cellData -> {
-            Account account = accountDAO.getAccountById(cellData.getValue().getAccountId());
-            return new SimpleStringProperty(account != null ? account.getAccountName() : "N/A");
+            String accountName = cellData.getValue().getAccountName();
+            return new SimpleStringProperty(accountName != null ? accountName : "N/A");
         });
 
+        // Transactions are loaded page by page (keyset pagination) as the user scrolls
+        final int userId = currentUser.getUserId();
+        transactionLoader = new PagedTableLoader<>(transactionTable, TRANSACTION_PAGE_SIZE, (lastTransaction, limit) ->
+                lastTransaction == null
+                        ? transactionDAO.getTransactionsPage(userId, null, 0, limit)
+                        : transactionDAO.getTransactionsPage(userId, lastTransaction.getTransactionDate(), lastTransaction.getTransactionId(), limit));
+
 
         // Initialize Budget Table columns
         colBudgetCategory.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getCategory()));
@@ -179,8 +256,21 @@ public class DashboardController {
         colCategoryIsDefault.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().isDefault()));
         colCategoryCreatedAt.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().getCreatedAt()));
 
-        // Initialize Weka Predictor at startup using your provided method
-        WekaPredictor.initialize(); // Calls the initialize() method in your WekaPredictor
+        // The trend chart is downsampled to its width; zooming re-fetches the visible window at full resolution
+        trendChart = new ZoomableDateChart(expenseTrendsLineChart, expenseTrendsXAxis, "Daily Expense Trend",
+                (from, to) -> transactionDAO.getDailyExpenseTotals(currentUser.getUserId(), from, to));
+
+        // The Weka models are loaded once, in the background, from Main.start; this only starts loading
+        // if that has not happened yet. Predictions wait for the models on their background thread.
+        WekaPredictor.initializeAsync();
+        // The user's own categorization model is trained and kept up to date in the background;
+        // until it is ready the shared one is used
+        NaiveBayesCategorizer.trainUser(userId);
+
+        // Every panel starts dirty; writes mark dependent panels dirty again, and a dirty panel is
+        // recomputed the next time its tab is shown
+        dirtyPanels.addAll(EnumSet.allOf(Panel.class));
+        DataChangeNotifier.addListener(dataChangeListener);
 
         // Initial refresh
         refreshDashboard();
@@ -195,41 +285,195 @@ public class DashboardController {
     }
 
     /**
-     * Refreshes all data displayed on the dashboard, including tables, summaries, and charts.
+     * Recomputes the panels of the selected tab that are dirty, i.e. whose data changed since they were last loaded.
+     * Panels on other tabs stay dirty until their tab is selected. Called on every tab switch and after forms
+     * and deletions; the writes themselves mark the dependent panels dirty through {@link DataChangeNotifier}.
+     * <p>
+     * Each panel is loaded by its own background task and rendered as soon as its data arrives, so the window
+     * stays responsive. Panels whose data is still in the {@link DashboardCache} are shown without touching the database.
      */
     public void refreshDashboard() {
         if (currentUser == null) return;
 
+        loadFailureReported = false;
+
         Tab selectedTab = dashboardTabPane.getSelectionModel().getSelectedItem();
         String tabText = (selectedTab != null) ? selectedTab.getText() : "";
 
-        // These are typically on the Overview tab, but if the user switches quickly,
-        // it's good to ensure they are updated when any tab is loaded.
-        updateFinancialSummary();
-        updatePredictedExpenses(); // This now relies on the pre-loaded models from WekaPredictor
-        updateCharts();
+        for (Panel panel : Panel.values()) {
+            if (panel.tabText.equals(tabText) && dirtyPanels.remove(panel)) {
+                refreshPanel(panel);
+            }
+        }
+    }
+
+    /**
+     * Reloads one panel now.
+     */
+    private void refreshPanel(Panel panel) {
+        switch (panel) {
+            case SUMMARY:
+                showPanel(panel, summaryLoadingIndicator::setVisible, this::loadFinancialSummary, this::renderFinancialSummary);
+                break;
+            case PREDICTIONS:
+                showPanel(panel, predictionsLoadingIndicator::setVisible, this::loadPredictedExpenses, this::renderPredictedExpenses);
+                break;
+            case CHARTS:
+                showPanel(panel, chartsLoadingIndicator::setVisible, this::loadChartData, this::renderCharts);
+                break;
+            case TRANSACTIONS:
+                refreshTransactionTable();
+                break;
+            case BUDGETS:
+                refreshBudgetTable();
+                break;
+            case ACCOUNTS:
+                refreshAccountTable();
+                break;
+            case CATEGORIES:
+                refreshCategoryTable();
+                break;
+        }
+    }
+
+    /**
+     * Marks the panels that depend on the changed entity dirty. Runs on the thread that made the write.
+     */
+    private void onDataChanged(DataChangeNotifier.EntityType type, int userId, Set<YearMonth> periods) {
+        User user = currentUser;
+        if (user == null || user.getUserId() != userId) {
+            return;
+        }
+        for (Panel panel : Panel.values()) {
+            if (panel.dependsOn(type)) {
+                dirtyPanels.add(panel);
+            }
+        }
+    }
+
+    /**
+     * Shows a panel for the current month, from the {@link DashboardCache} if the panel is cached and present there,
+     * otherwise by loading it in the background. A cache hit that was already rendered is skipped.
+     *
+     * @param panel The panel.
+     * @param loadingIndicator Shows (true) or hides (false) the panel's loading indicator.
+     * @param loader Reads the panel's data; runs on a background thread and must not touch any UI nodes.
+     * @param renderer Displays the data; runs on the JavaFX application thread.
+     * @param <T> The type of the panel's data.
+     */
+    private <T> void showPanel(Panel panel, Consumer<Boolean> loadingIndicator, Callable<T> loader, Consumer<T> renderer) {
+        DashboardCache.Component component = panel.cacheComponent;
+        if (component == null) {
+            loadPanel(panel, loadingIndicator, loader, renderer);
+            return;
+        }
+        int userId = currentUser.getUserId();
+        YearMonth month = YearMonth.now();
+        T cached = dashboardCache.get(userId, month, component);
+        if (cached != null) {
+            if (renderedValues.get(component) != cached) {
+                renderedValues.put(component, cached);
+                renderer.accept(cached);
+            }
+            return;
+        }
+        long generation = dashboardCache.getGeneration();
+        loadPanel(panel, loadingIndicator, loader, value -> {
+            dashboardCache.put(userId, month, component, value, generation);
+            renderedValues.put(component, value);
+            renderer.accept(value);
+        });
+    }
 
-        if ("Transactions List".equals(tabText)) {
-            refreshTransactionTable();
-        } else if ("Budgeting".equals(tabText)) {
-            refreshBudgetTable();
-        } else if ("Accounts".equals(tabText)) {
-            refreshAccountTable();
-        } else if ("Categories".equals(tabText)) {
-            refreshCategoryTable();
+    /**
+     * Loads one dashboard panel on a background thread and renders it on the JavaFX application thread.
+     * The load runs inside its own read-only unit of work, so everything a panel shows comes from one snapshot.
+     * A load still running for the same panel is cancelled. If the load fails or is cancelled, the panel
+     * is marked dirty again so it is retried the next time it is shown.
+     *
+     * @param panel The panel being loaded.
+     * @param loadingIndicator Shows (true) or hides (false) the panel's loading indicator.
+     * @param loader Reads the panel's data; runs on a background thread and must not touch any UI nodes.
+     * @param renderer Displays the loaded data; runs on the JavaFX application thread.
+     * @param <T> The type of the panel's data.
+     */
+    private <T> void loadPanel(Panel panel, Consumer<Boolean> loadingIndicator, Callable<T> loader, Consumer<T> renderer) {
+        Task<T> task = new Task<T>() {
+            @Override
+            protected T call() throws Exception {
+                return UnitOfWork.runReadOnly(loader);
+            }
+        };
+        task.setOnSucceeded(event -> {
+            panelTasks.remove(panel, task);
+            loadingIndicator.accept(false);
+            renderer.accept(task.getValue());
+        });
+        task.setOnFailed(event -> {
+            if (panelTasks.remove(panel, task)) {
+                dirtyPanels.add(panel);
+            }
+            loadingIndicator.accept(false);
+            Throwable error = task.getException();
+            LOGGER.log(Level.SEVERE, "Could not load dashboard panel " + panel + ": " + error.getMessage(), error);
+            if (!loadFailureReported) {
+                loadFailureReported = true;
+                AlertUtil.showError("Database Error", "Could not refresh dashboard.", "Please check your database connection and try again.");
+            }
+        });
+        task.setOnCancelled(event -> {
+            if (panelTasks.remove(panel, task)) {
+                dirtyPanels.add(panel);
+            }
+            loadingIndicator.accept(false);
+        });
+
+        Task<?> previous = panelTasks.put(panel, task);
+        if (previous != null) {
+            previous.cancel(true); // Superseded; its onCancelled no longer finds it in panelTasks
+        }
+        loadingIndicator.accept(true);
+        BackgroundExecutor.submit(task);
+    }
+
+    /**
+     * Loads rows for one of the dashboard tables in the background (or from the {@link DashboardCache}),
+     * showing a progress indicator in place of the table contents until they arrive.
+     *
+     * @param panel The table's panel.
+     * @param table The table to fill.
+     * @param loader Reads the rows; runs on a background thread.
+     * @param <S> The row type of the table.
+     */
+    private <S> void loadTable(Panel panel, TableView<S> table, Callable<List<S>> loader) {
+        ProgressIndicator progress = new ProgressIndicator();
+        showPanel(panel, loading -> {
+            if (loading) {
+                table.setItems(FXCollections.observableArrayList());
+            }
+            table.setPlaceholder(loading ? progress : null); // null restores the default "No content" placeholder
+        }, loader, rows -> table.setItems(FXCollections.observableArrayList(rows)));
+    }
+
+    /**
+     * Cancels every panel load still running, e.g. on logout.
+     */
+    private void cancelPanelLoads() {
+        for (Task<?> task : new ArrayList<>(panelTasks.values())) {
+            task.cancel(true);
         }
+        panelTasks.clear();
     }
 
 
     // --- Transaction Management ---
 
     /**
-     * Populates the transaction table with the current user's transactions.
+     * Populates the transaction table with the first page of the current user's transactions.
+     * Further pages are fetched as the user scrolls down.
      */
     private void refreshTransactionTable() {
-        List<Transaction> transactions = transactionDAO.getTransactionsByUserId(currentUser.getUserId());
-        ObservableList<Transaction> observableTransactions = FXCollections.observableArrayList(transactions);
-        transactionTable.setItems(observableTransactions);
+        transactionLoader.reload();
     }
 
     /**
@@ -281,6 +525,75 @@ public class DashboardController {
         }
     }
 
+    /**
+     * Handles importing a bank statement CSV file into one of the user's accounts.
+     * The import runs in the background; its progress is shown below the buttons.
+     * @param event The ActionEvent that triggered this method.
+     */
+    @FXML
+    private void handleImportStatement(ActionEvent event) {
+        List<Account> accounts = accountDAO.getAccountsByUserId(currentUser.getUserId());
+        if (accounts.isEmpty()) {
+            AlertUtil.showWarning("No Accounts", "Cannot Import Statement", "Please add at least one account before importing transactions.");
+            return;
+        }
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Import Bank Statement");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV Files", "*.csv"),
+                new FileChooser.ExtensionFilter("All Files", "*.*"));
+        File file = fileChooser.showOpenDialog(transactionTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        Map<String, Account> accountsByName = new LinkedHashMap<>();
+        for (Account account : accounts) {
+            accountsByName.put(account.getAccountName(), account);
+        }
+        ChoiceDialog<String> accountDialog = new ChoiceDialog<>(accounts.get(0).getAccountName(), accountsByName.keySet());
+        accountDialog.setTitle("Import Bank Statement");
+        accountDialog.setHeaderText("Import " + file.getName() + "\nExpected columns: date (yyyy-MM-dd), description, amount (negative for expenses)");
+        accountDialog.setContentText("Into account:");
+        Optional<String> accountName = accountDialog.showAndWait();
+        if (!accountName.isPresent()) {
+            return;
+        }
+
+        StatementImporter importer = new StatementImporter(file.toPath(), currentUser.getUserId(), accountsByName.get(accountName.get()).getAccountId());
+        importProgressBar.progressProperty().bind(importer.progressProperty());
+        importStatusLabel.textProperty().bind(importer.messageProperty());
+        importProgressBox.setVisible(true);
+        importProgressBox.setManaged(true);
+        importStatementButton.setDisable(true);
+
+        importer.setOnSucceeded(e -> {
+            finishImport();
+            AlertUtil.showInfo("Import Complete", "Statement Imported",
+                    String.format("%d transactions imported, %d lines skipped.", importer.getValue(), importer.getSkippedRows()));
+            refreshDashboard();
+        });
+        importer.setOnFailed(e -> {
+            finishImport();
+            LOGGER.log(Level.SEVERE, "Statement import failed: " + importer.getException().getMessage(), importer.getException());
+            AlertUtil.showError("Import Failed", "Could not import statement.", importer.getException().getMessage());
+            refreshDashboard(); // Chunks committed before the failure are kept
+        });
+        BackgroundExecutor.submit(importer);
+    }
+
+    /**
+     * Hides the import progress bar and re-enables the import button.
+     */
+    private void finishImport() {
+        importProgressBar.progressProperty().unbind();
+        importStatusLabel.textProperty().unbind();
+        importProgressBox.setVisible(false);
+        importProgressBox.setManaged(false);
+        importStatementButton.setDisable(false);
+    }
+
     /**
      * Opens the TransactionForm window for adding or editing a transaction.
      * @param transaction The transaction to edit, or null if adding a new one.
@@ -314,13 +627,21 @@ public class DashboardController {
      * Populates the budget table with the current user's budgets and calculated utilization.
      */
     private void refreshBudgetTable() {
-        List<Budget> budgets = budgetDAO.getBudgetsByUserId(currentUser.getUserId());
-        ObservableList<BudgetWrapper> budgetWrappers = FXCollections.observableArrayList();
+        loadTable(Panel.BUDGETS, budgetTable, this::loadBudgetRows);
+    }
+
+    /**
+     * Builds the budget table rows. Runs on a background thread.
+     *
+     * @return The budget rows, newest first.
+     */
+    private List<BudgetWrapper> loadBudgetRows() {
+        // Budgets and their spent amounts come back from a single grouped query
+        List<Budget> budgets = budgetDAO.getBudgetsWithSpentByUserId(currentUser.getUserId());
+        List<BudgetWrapper> budgetWrappers = new ArrayList<>();
 
         for (Budget budget : budgets) {
-            double spentAmount = transactionDAO.getTotalExpenseForCategoryMonthYear(
-                    currentUser.getUserId(), budget.getCategoryId(), budget.getMonth(), budget.getYear()
-            );
+            double spentAmount = budget.getAmountSpent();
 
             String status = "On Track";
             double remaining = budget.getAmountLimit() - spentAmount;
@@ -340,7 +661,7 @@ public class DashboardController {
                 .reversed()
                 .thenComparing(BudgetWrapper::getCategory));
 
-        budgetTable.setItems(budgetWrappers);
+        return budgetWrappers;
     }
 
     /**
@@ -459,15 +780,28 @@ public class DashboardController {
     // --- Financial Summary & Charts ---
 
     /**
-     * Updates the total income and expenses for the current month.
+     * Loads the total income and expenses for the current month. Runs on a background thread.
+     *
+     * @return {income, expenses} for the current month.
      */
-    private void updateFinancialSummary() {
+    private double[] loadFinancialSummary() {
         LocalDate now = LocalDate.now();
         int currentMonth = now.getMonthValue();
         int currentYear = now.getYear();
 
         double totalIncome = transactionDAO.getTotalIncomeForMonth(currentUser.getUserId(), currentMonth, currentYear);
         double totalExpenses = transactionDAO.getTotalExpensesForMonth(currentUser.getUserId(), currentMonth, currentYear);
+        return new double[]{totalIncome, totalExpenses};
+    }
+
+    /**
+     * Displays the total income, expenses and net balance for the current month.
+     *
+     * @param summary {income, expenses} as returned by {@link #loadFinancialSummary()}.
+     */
+    private void renderFinancialSummary(double[] summary) {
+        double totalIncome = summary[0];
+        double totalExpenses = summary[1];
         double netBalance = totalIncome - totalExpenses;
 
         totalIncomeLabel.setText(String.format("₹%.2f", totalIncome));
@@ -480,19 +814,45 @@ public class DashboardController {
         }
     }
 
+    /**
+     * Data behind the three overview charts, loaded together in the background.
+     */
+    private static class ChartData {
+        Map<String, Double> categoryBreakdown;
+        Map<String, Double> monthlyExpenses;
+        Map<LocalDate, Double> dailyExpenses;
+    }
+
+    /**
+     * Loads the data for all charts. Runs on a background thread.
+     *
+     * @return The chart data.
+     */
+    private ChartData loadChartData() {
+        ChartData data = new ChartData();
+        data.categoryBreakdown = transactionDAO.getExpenseCategoriesBreakdown(currentUser.getUserId());
+        data.monthlyExpenses = transactionDAO.getMonthlyExpenses(currentUser.getUserId());
+        // Daily sums are computed in SQL and come back sorted by date. The whole history is kept (and cached) only
+        // at overview resolution; zooming in on the trend chart re-fetches its window day by day.
+        data.dailyExpenses = ZoomableDateChart.downsample(
+                transactionDAO.getDailyExpenseTotals(currentUser.getUserId(), null, null), TREND_OVERVIEW_MAX_POINTS);
+        return data;
+    }
+
     /**
      * Updates all charts (Pie, Bar, Line) with the latest financial data.
+     *
+     * @param data The chart data returned by {@link #loadChartData()}.
      */
-    private void updateCharts() {
+    private void renderCharts(ChartData data) {
         // Clear previous chart data to prevent accumulation
         expensePieChart.getData().clear();
         // Clear old series data from BarChart and LineChart explicitly
         monthlyExpensesBarChart.getData().clear();
-        expenseTrendsLineChart.getData().clear();
 
 
         // 1. Pie Chart: Expense Categories Breakdown for Current Month
-        Map<String, Double> categoryBreakdown = transactionDAO.getExpenseCategoriesBreakdown(currentUser.getUserId());
+        Map<String, Double> categoryBreakdown = data.categoryBreakdown;
         ObservableList<PieChart.Data> pieChartData = FXCollections.observableArrayList();
         if (categoryBreakdown.isEmpty() || categoryBreakdown.values().stream().allMatch(v -> v == 0.0)) {
             pieChartData.add(new PieChart.Data("No Expenses This Month", 1.0)); // Show empty slice if no data or all zero
@@ -510,9 +870,8 @@ public class DashboardController {
         expensePieChart.setTitle("Expense Categories Breakdown (Current Month)");
 
         // 2. Bar Chart: Monthly Expenses Comparison (Last 6 Months)
-        Map<String, Double> monthlyExpensesRaw = transactionDAO.getMonthlyExpenses(currentUser.getUserId());
         // Use TreeMap to ensure natural sorting (YYYY-MM) for months on the chart
-        Map<String, Double> monthlyExpenses = new TreeMap<>(monthlyExpensesRaw);
+        Map<String, Double> monthlyExpenses = new TreeMap<>(data.monthlyExpenses);
 
         XYChart.Series<String, Number> monthlySeries = new XYChart.Series<>();
         monthlySeries.setName("Monthly Expenses");
@@ -533,82 +892,59 @@ public class DashboardController {
         monthlyExpensesBarChart.setTitle("Monthly Expenses Comparison");
 
 
-        // 3. Line Chart: Expense Trends Over Time (All Expenses)
-        List<Transaction> allExpenses = transactionDAO.getTransactionsByUserId(currentUser.getUserId()).stream()
-                .filter(t -> t.getType().equals("Expense"))
-                .sorted(Comparator.comparing(Transaction::getTransactionDate)) // Sort by date for trend
-                .collect(Collectors.toList());
+        // 3. Line Chart: Expense Trends Over Time (All Expenses), downsampled to the chart's width
+        trendChart.setData(data.dailyExpenses);
+        expenseTrendsLineChart.setTitle("Expense Trends Over Time");
+    }
+
+    /**
+     * Uses Weka to predict next month's expenses for each category. Runs on a background thread.
+     * This method uses the pre-trained model loaded by WekaPredictor.initializeAsync(), waiting for it if it is still loading.
+     *
+     * @return Predicted amount per expense category name, in category order.
+     */
+    private Map<String, Double> loadPredictedExpenses() {
+        Map<String, Double> predictions = new LinkedHashMap<>();
 
-        // Group by date and sum expenses for that date
-        // Use TreeMap to ensure dates are sorted for the chart
-        Map<LocalDate, Double> dailyExpenses = allExpenses.stream()
-                .collect(Collectors.groupingBy(Transaction::getTransactionDate,
-                        TreeMap::new, // Ensures sorted keys
-                        Collectors.summingDouble(Transaction::getAmount)));
+        List<Category> expenseCategories = categoryDAO.getCategoriesByUserIdAndType(currentUser.getUserId(), "Expense");
+        if (expenseCategories.isEmpty()) {
+            return predictions;
+        }
 
-        XYChart.Series<String, Number> trendSeries = new XYChart.Series<>();
-        trendSeries.setName("Daily Expense Trend");
+        // Retrieve the last 3 months of spending for every expense category in one query.
+        // Each row is [M3, M2, M1] (oldest to most recent), zero-filled where there was no spending.
+        int[] categoryIds = expenseCategories.stream().mapToInt(Category::getCategoryId).toArray();
+        double[][] history = transactionDAO.getMonthlyExpenseMatrix(currentUser.getUserId(), categoryIds, 3);
 
-        // Use a shorter date format for the X-axis to prevent overlapping
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MMM dd"); // Shorter format
+        // Predict all categories in one pass. Each history row is already in the [M3, M2, M1] order the predictor expects.
+        String[] categoryNames = expenseCategories.stream().map(Category::getCategoryName).toArray(String[]::new);
+        double[] predictedAmounts = WekaPredictor.predictNextMonthExpenses(categoryNames, history);
 
-        if (dailyExpenses.isEmpty()) {
-            // Handle case where there are no expenses at all
-            trendSeries.getData().add(new XYChart.Data<>("No Data", 0)); // Add a placeholder point
-        } else {
-            for (Map.Entry<LocalDate, Double> entry : dailyExpenses.entrySet()) {
-                trendSeries.getData().add(new XYChart.Data<>(entry.getKey().format(dateFormatter), entry.getValue()));
-            }
+        for (int i = 0; i < categoryNames.length; i++) {
+            predictions.put(categoryNames[i], Math.max(0, predictedAmounts[i])); // Ensure prediction is not negative
         }
-        expenseTrendsLineChart.getData().add(trendSeries);
-        expenseTrendsLineChart.setTitle("Expense Trends Over Time");
+        return predictions;
     }
 
     /**
-     * Uses Weka to predict next month's expenses for each category and displays them.
-     * Also calculates the total predicted expense.
-     * This method now uses the pre-trained model loaded by WekaPredictor.initialize().
+     * Displays the predicted expenses per category and the total predicted expense.
+     *
+     * @param predictions The predictions returned by {@link #loadPredictedExpenses()}.
      */
-    private void updatePredictedExpenses() {
+    private void renderPredictedExpenses(Map<String, Double> predictions) {
         predictedExpensesVBox.getChildren().clear(); // Clear previous predictions
-        double overallPredictedExpense = 0.0;
-
-        List<Category> expenseCategories = categoryDAO.getCategoriesByUserIdAndType(currentUser.getUserId(), "Expense");
 
-        if (expenseCategories.isEmpty()) {
+        if (predictions.isEmpty()) {
             predictedExpensesVBox.getChildren().add(new Label("No expense categories defined for predictions."));
             totalPredictedExpenseLabel.setText("₹0.00");
             return;
         }
 
         predictedExpensesVBox.getChildren().add(new Label("By Category:"));
-        for (Category category : expenseCategories) {
-            // Retrieve last 3 months of spending for this specific category for prediction input.
-            // getHistoricalMonthlySpendingForCategory returns [M3, M2, M1] (oldest to most recent).
-            List<Double> historicalData = transactionDAO.getHistoricalMonthlySpendingForCategory(currentUser.getUserId(), category.getCategoryId(), 3);
-
-            // Ensure we have exactly 3 data points, padding with 0.0 if not enough history
-            // The `getHistoricalMonthlySpendingForCategory` already pads to `monthsBack`
-            // and returns in order (oldest to most recent).
-            double m3_oldest = historicalData.size() >= 3 ? historicalData.get(0) : 0.0;
-            double m2_middle = historicalData.size() >= 3 ? historicalData.get(1) : 0.0;
-            double m1_mostRecent = historicalData.size() >= 3 ? historicalData.get(2) : 0.0;
-
-            // Predict using Weka. Your WekaPredictor.predictNextMonthExpense expects parameters
-            // (category, PastSpendingM1, PastSpendingM2, PastSpendingM3)
-            // where PastSpendingM1 is the most recent (M1), PastSpendingM2 is M2, PastSpendingM3 is M3.
-            double predictedAmount = WekaPredictor.predictNextMonthExpense(
-                    category.getCategoryName(),
-                    m1_mostRecent,    // This corresponds to PastSpendingM1 in WekaPredictor
-                    m2_middle,        // This corresponds to PastSpendingM2 in WekaPredictor
-                    m3_oldest         // This corresponds to PastSpendingM3 in WekaPredictor
-            );
-
-            predictedAmount = Math.max(0, predictedAmount); // Ensure prediction is not negative
-            overallPredictedExpense += predictedAmount;
-
-            // Display prediction
-            Label predictionLabel = new Label(String.format(" - %s: ₹%.2f", category.getCategoryName(), predictedAmount));
+        double overallPredictedExpense = 0.0;
+        for (Map.Entry<String, Double> entry : predictions.entrySet()) {
+            overallPredictedExpense += entry.getValue();
+            Label predictionLabel = new Label(String.format(" - %s: ₹%.2f", entry.getKey(), entry.getValue()));
             predictedExpensesVBox.getChildren().add(predictionLabel);
         }
         totalPredictedExpenseLabel.setText(String.format("₹%.2f", overallPredictedExpense));
@@ -621,9 +957,8 @@ public class DashboardController {
      * Refreshes the account table with the current user's accounts.
      */
     private void refreshAccountTable() {
-        List<Account> accounts = accountDAO.getAccountsByUserId(currentUser.getUserId());
-        ObservableList<Account> observableAccounts = FXCollections.observableArrayList(accounts);
-        accountTable.setItems(observableAccounts);
+        final int userId = currentUser.getUserId();
+        loadTable(Panel.ACCOUNTS, accountTable, () -> accountDAO.getAccountsByUserId(userId));
     }
 
     /**
@@ -717,9 +1052,8 @@ public class DashboardController {
      * Refreshes the category table with the current user's categories.
      */
     private void refreshCategoryTable() {
-        List<Category> categories = categoryDAO.getCategoriesByUserId(currentUser.getUserId());
-        ObservableList<Category> observableCategories = FXCollections.observableArrayList(categories);
-        categoryTable.setItems(observableCategories);
+        final int userId = currentUser.getUserId();
+        loadTable(Panel.CATEGORIES, categoryTable, () -> categoryDAO.getCategoriesByUserId(userId));
     }
 
     /**
@@ -822,6 +1156,12 @@ public class DashboardController {
      */
     @FXML
     private void handleLogout(ActionEvent event) {
+        DataChangeNotifier.removeListener(dataChangeListener);
+        cancelPanelLoads();
+        transactionLoader.cancel();
+        trendChart.cancel();
+        NaiveBayesCategorizer.discardUser(currentUser.getUserId());
+        dashboardCache.invalidateUser(currentUser.getUserId()); // Nothing else removes a user's entries
         SessionManager.getInstance().logout();
         try {
             Parent root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("/com/financeapp/view/Login.fxml")));
@@ -9,6 +9,11 @@ import com.financeapp.model.Category;
 import com.financeapp.model.Transaction;
 import com.financeapp.model.User;
 import com.financeapp.utils.AlertUtil;
+import com.financeapp.utils.BackgroundExecutor;
+import com.financeapp.utils.NaiveBayesCategorizer;
+import com.financeapp.utils.WekaPredictor;
+import javafx.animation.PauseTransition;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
@@ -17,9 +22,13 @@ import javafx.scene.control.DatePicker;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -32,6 +41,18 @@ public class TransactionFormController {
 
     private static final Logger LOGGER = Logger.getLogger(TransactionFormController.class.getName());
 
+    private static final Duration SUGGESTION_DELAY = Duration.millis(150); // Classify once typing pauses
+    private static final int SUGGESTION_CACHE_SIZE = 500;
+
+    // Predicted label per normalized description, shared by all forms; least recently used entries are evicted.
+    // Only accessed on the JavaFX application thread.
+    private static final Map<String, String> SUGGESTION_CACHE = new LinkedHashMap<String, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > SUGGESTION_CACHE_SIZE;
+        }
+    };
+
     @FXML private DatePicker datePicker;
     @FXML private TextField amountField;
     @FXML private ComboBox<String> typeComboBox;
@@ -53,6 +74,11 @@ public class TransactionFormController {
     private int originalAccountId;
     private String originalType;
 
+    // As-you-type category suggestion
+    private final PauseTransition suggestionDelay = new PauseTransition(SUGGESTION_DELAY);
+    private Task<String> suggestionTask;
+    private boolean categoryChosenByUser; // Once the user picks a category, suggestions no longer change it
+
 
     /**
      * Initializes the controller. Sets up combo boxes and their listeners.
@@ -65,6 +91,22 @@ public class TransactionFormController {
         typeComboBox.valueProperty().addListener((obs, oldVal, newVal) -> {
             if (newVal != null && currentUser != null) {
                 populateCategoryComboBox(newVal);
+                if (transactionToEdit == null && !categoryChosenByUser) {
+                    suggestionDelay.playFromStart(); // The suggestion may match one of the new type's categories
+                }
+            }
+        });
+
+        // Suggest a category from the description once typing pauses; the classifier runs in the background
+        suggestionDelay.setOnFinished(event -> suggestCategory());
+        descriptionArea.textProperty().addListener((observable, oldValue, newValue) -> {
+            if (transactionToEdit == null && !categoryChosenByUser) {
+                suggestionDelay.playFromStart();
+            }
+        });
+        categoryComboBox.setOnHidden(event -> { // The user opened the list and picked (or kept) a category
+            if (categoryComboBox.getValue() != null) {
+                categoryChosenByUser = true;
             }
         });
 
@@ -152,6 +194,91 @@ public class TransactionFormController {
         }
     }
 
+    /**
+     * Classifies the current description and pre-selects the matching category, using the cached label for
+     * the same normalized description if there is one. A classification still running for an older
+     * description is cancelled, and its result ignored if it completes anyway.
+     */
+    private void suggestCategory() {
+        cancelSuggestion();
+        String description = normalizeDescription(descriptionArea.getText());
+        int userId = currentUser.getUserId();
+        // Predictions come from the user's own model, which learns as transactions are saved, so the cache is
+        // per user and per model generation
+        String keyPrefix = userId + ":" + NaiveBayesCategorizer.getModelGeneration() + ":";
+        String key = keyPrefix + description;
+        if (description.isEmpty() || transactionToEdit != null || categoryChosenByUser) {
+            return;
+        }
+        String cachedLabel = SUGGESTION_CACHE.get(key);
+        if (cachedLabel != null) {
+            applySuggestedCategory(cachedLabel);
+            return;
+        }
+
+        Task<String> task = new Task<String>() {
+            @Override
+            protected String call() {
+                return WekaPredictor.predictCategory(userId, description); // The same text the result is cached under
+            }
+        };
+        task.setOnSucceeded(event -> {
+            if (suggestionTask != task) {
+                return; // Superseded by a newer description
+            }
+            suggestionTask = null;
+            String label = task.getValue();
+            if (!"Unknown".equals(label)) {
+                SUGGESTION_CACHE.put(key, label);
+                if (key.equals(keyPrefix + normalizeDescription(descriptionArea.getText()))) {
+                    applySuggestedCategory(label);
+                }
+            }
+        });
+        task.setOnFailed(event -> LOGGER.log(Level.WARNING, "Category suggestion failed.", task.getException()));
+        suggestionTask = task;
+        BackgroundExecutor.submit(task);
+    }
+
+    /**
+     * Selects the category matching a classifier label (e.g. "Food" or "Food & Groceries" for "Food"),
+     * unless the user has chosen a category. Leaves the selection alone if none of the listed categories match.
+     */
+    private void applySuggestedCategory(String label) {
+        if (categoryChosenByUser) {
+            return;
+        }
+        String lowerCaseLabel = label.toLowerCase(Locale.ROOT);
+        String match = null;
+        for (String categoryName : categoryComboBox.getItems()) {
+            if (categoryName.equalsIgnoreCase(label)) {
+                match = categoryName;
+                break;
+            }
+            if (match == null && categoryName.toLowerCase(Locale.ROOT).contains(lowerCaseLabel)) {
+                match = categoryName;
+            }
+        }
+        if (match != null && !match.equals(categoryComboBox.getValue())) {
+            categoryComboBox.setValue(match);
+        }
+    }
+
+    private void cancelSuggestion() {
+        if (suggestionTask != null) {
+            suggestionTask.cancel(true);
+            suggestionTask = null;
+        }
+    }
+
+    /**
+     * Normalizes a description for classification and the suggestion cache: trimmed, with runs of whitespace
+     * collapsed. Case is kept, since the Weka model's vocabulary is case-sensitive.
+     */
+    private static String normalizeDescription(String description) {
+        return description == null ? "" : description.trim().replaceAll("\\s+", " ");
+    }
+
     /**
      * Handles the save button action. Adds a new transaction or updates an existing one.
      * @param event The ActionEvent that triggered this method.
@@ -261,6 +388,8 @@ public class TransactionFormController {
      * Closes the current form window.
      */
     private void closeForm() {
+        suggestionDelay.stop();
+        cancelSuggestion();
         Stage stage = (Stage) datePicker.getScene().getWindow();
         stage.close();
         if (dashboardController != null) {
@@ -8,7 +8,11 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -19,6 +23,9 @@ public class AccountDAO {
 
     private static final Logger LOGGER = Logger.getLogger(AccountDAO.class.getName());
 
+    // Accounts by ID, shared by all AccountDAO instances. Writes here and balance changes in TransactionDAO invalidate entries.
+    static final EntityCache<Account> CACHE = new EntityCache<>("accounts");
+
     /**
      * Adds a new account to the database.
      *
@@ -42,6 +49,7 @@ public class AccountDAO {
                         account.setAccountId(generatedKeys.getInt(1));
                     }
                 }
+                DataChangeNotifier.fireChangedAllPeriods(DataChangeNotifier.EntityType.ACCOUNT, account.getUserId());
                 return true;
             }
         } catch (SQLException e) {
@@ -68,15 +76,22 @@ public class AccountDAO {
             pstmt.setInt(6, account.getUserId());
 
             int affectedRows = pstmt.executeUpdate();
+            if (affectedRows > 0) {
+                DataChangeNotifier.fireChangedAllPeriods(DataChangeNotifier.EntityType.ACCOUNT, account.getUserId());
+            }
             return affectedRows > 0;
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error updating account: " + e.getMessage(), e);
+        } finally {
+            CACHE.invalidate(account.getAccountId());
         }
         return false;
     }
 
     /**
      * Deletes an account from the database.
+     * Its transactions are deleted by the foreign key cascade, so their amounts are first removed
+     * from the monthly rollups in the same database transaction.
      *
      * @param accountId The ID of the account to delete.
      * @param userId The ID of the user who owns the account.
@@ -84,25 +99,58 @@ public class AccountDAO {
      */
     public boolean deleteAccount(int accountId, int userId) {
         String sql = "DELETE FROM accounts WHERE account_id = ? AND user_id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, accountId);
-            pstmt.setInt(2, userId);
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+        Connection conn = null;
+        boolean success = false;
+        try {
+            conn = DatabaseConnection.getConnection();
+            conn.setAutoCommit(false); // Start transaction
+            MonthlyRollupDAO.subtractAccount(conn, accountId, userId);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, accountId);
+                pstmt.setInt(2, userId);
+                if (pstmt.executeUpdate() > 0) {
+                    conn.commit();
+                    success = true;
+                    DataChangeNotifier.fireChangedAllPeriods(DataChangeNotifier.EntityType.ACCOUNT, userId);
+                    // The account's transactions were deleted with it (ON DELETE CASCADE)
+                    DataChangeNotifier.fireChangedAllPeriods(DataChangeNotifier.EntityType.TRANSACTION, userId);
+                } else {
+                    conn.rollback(); // Not found: undo the rollup changes
+                }
+            }
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error deleting account: " + e.getMessage(), e);
+            if (conn != null) {
+                try {
+                    conn.rollback(); // Rollback on error
+                } catch (SQLException ex) {
+                    LOGGER.log(Level.SEVERE, "Error during rollback: " + ex.getMessage(), ex);
+                }
+            }
+        } finally {
+            try {
+                if (conn != null) conn.setAutoCommit(true); // Restore auto-commit
+                if (conn != null) conn.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.SEVERE, "Error closing resources: " + e.getMessage(), e);
+            }
+            CACHE.invalidate(accountId);
         }
-        return false;
+        return success;
     }
 
     /**
      * Retrieves a specific account by its ID.
+     * Served from the shared cache when possible, so repeated lookups (e.g. from table cells) do not hit the database.
      *
      * @param accountId The ID of the account to retrieve.
      * @return The Account object, or null if not found.
      */
     public Account getAccountById(int accountId) {
+        return CACHE.get(accountId, this::loadAccountById);
+    }
+
+    private Account loadAccountById(int accountId) {
         String sql = "SELECT * FROM accounts WHERE account_id = ?";
         Account account = null;
         try (Connection conn = DatabaseConnection.getConnection();
@@ -149,6 +197,36 @@ public class AccountDAO {
         return null;
     }
 
+    /**
+     * Retrieves the account types for several accounts in one query, using an existing connection.
+     * This is a helper method for TransactionDAO's bulk inserts.
+     *
+     * @param conn The active SQL Connection.
+     * @param accountIds The IDs of the accounts.
+     * @return A map of account ID to account type; accounts that do not exist are missing from the map.
+     * @throws SQLException If a database access error occurs.
+     */
+    public Map<Integer, String> getAccountTypesByIds(Connection conn, Collection<Integer> accountIds) throws SQLException {
+        Map<Integer, String> accountTypes = new HashMap<>();
+        if (accountIds.isEmpty()) {
+            return accountTypes;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(accountIds.size(), "?"));
+        String sql = "SELECT account_id, account_type FROM accounts WHERE account_id IN (" + placeholders + ")";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (int accountId : accountIds) {
+                pstmt.setInt(index++, accountId);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    accountTypes.put(rs.getInt("account_id"), rs.getString("account_type"));
+                }
+            }
+        }
+        return accountTypes;
+    }
+
     /**
      * Retrieves all accounts for a specific user.
      *
@@ -157,6 +235,7 @@ public class AccountDAO {
      */
     public List<Account> getAccountsByUserId(int userId) {
         List<Account> accounts = new ArrayList<>();
+        long generationBeforeLoad = EntityCache.generationBeforeLoad(); // Before the query, see EntityCache#put
         String sql = "SELECT * FROM accounts WHERE user_id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -173,6 +252,7 @@ public class AccountDAO {
                             rs.getTimestamp("created_at").toLocalDateTime()
                     );
                     accounts.add(account);
+                    CACHE.put(account.getAccountId(), account, generationBeforeLoad);
                 }
             }
         } catch (SQLException e) {
@@ -0,0 +1,176 @@
+// src/main/java/com/financeapp/dao/AsyncDAO.java
+package com.financeapp.dao;
+
+import com.financeapp.utils.BackgroundExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous facade over the DAOs, for callers that want to run independent queries side by side
+ * and compose the results, e.g.:
+ * <pre>
+ *     AsyncDAO.transactions(dao -&gt; dao.getGlobalStatistics())
+ *             .thenAcceptBothAsync(AsyncDAO.transactions(dao -&gt; dao.getTopExpenseCategories(5)),
+ *                     (stats, top) -&gt; render(stats, top), Platform::runLater);
+ * </pre>
+ * Queries run on virtual threads when the runtime provides them (Java 21+), otherwise on a pool of daemon
+ * threads. Either way, at most {@link DatabaseConnection#getMaxPoolSize()} queries run at once, so async
+ * callers queue here instead of timing out while waiting for a pooled connection.
+ * <p>
+ * Cancelling a returned future (or letting its timeout expire) skips the query if it has not started yet and
+ * interrupts the worker if it has; the DAO's result, if any, is then discarded.
+ * Queries run outside any {@link UnitOfWork}: each one borrows its own connection, so use
+ * a unit of work on a single thread instead when several reads must see the same snapshot.
+ */
+public class AsyncDAO {
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncDAO.class.getName());
+
+    private static final ExecutorService EXECUTOR = createExecutor();
+    // Bounds concurrent queries by the connection pool size
+    private static final Semaphore PERMITS = new Semaphore(DatabaseConnection.getMaxPoolSize(), true);
+
+    // DAOs hold no per-call state (their caches are static), so one instance of each is shared
+    private static final TransactionDAO TRANSACTION_DAO = new TransactionDAO();
+    private static final BudgetDAO BUDGET_DAO = new BudgetDAO();
+    private static final AccountDAO ACCOUNT_DAO = new AccountDAO();
+    private static final CategoryDAO CATEGORY_DAO = new CategoryDAO();
+    private static final UserDAO USER_DAO = new UserDAO();
+
+    /**
+     * Private constructor to prevent instantiation, as this is a utility class with static methods.
+     */
+    private AsyncDAO() {
+        // Private constructor
+    }
+
+    /**
+     * Runs a TransactionDAO call asynchronously.
+     *
+     * @param query The call, e.g. {@code dao -> dao.getTransactionsByUserId(userId)}.
+     * @param <T> The result type.
+     * @return A future completed with the call's result.
+     */
+    public static <T> CompletableFuture<T> transactions(Function<TransactionDAO, T> query) {
+        return supply(() -> query.apply(TRANSACTION_DAO), null);
+    }
+
+    /**
+     * Runs a BudgetDAO call asynchronously.
+     *
+     * @param query The call, e.g. {@code dao -> dao.getBudgetsWithSpentByUserId(userId)}.
+     * @param <T> The result type.
+     * @return A future completed with the call's result.
+     */
+    public static <T> CompletableFuture<T> budgets(Function<BudgetDAO, T> query) {
+        return supply(() -> query.apply(BUDGET_DAO), null);
+    }
+
+    /**
+     * Runs an AccountDAO call asynchronously.
+     *
+     * @param query The call, e.g. {@code dao -> dao.getAccountsByUserId(userId)}.
+     * @param <T> The result type.
+     * @return A future completed with the call's result.
+     */
+    public static <T> CompletableFuture<T> accounts(Function<AccountDAO, T> query) {
+        return supply(() -> query.apply(ACCOUNT_DAO), null);
+    }
+
+    /**
+     * Runs a CategoryDAO call asynchronously.
+     *
+     * @param query The call, e.g. {@code dao -> dao.getCategoriesByUserId(userId)}.
+     * @param <T> The result type.
+     * @return A future completed with the call's result.
+     */
+    public static <T> CompletableFuture<T> categories(Function<CategoryDAO, T> query) {
+        return supply(() -> query.apply(CATEGORY_DAO), null);
+    }
+
+    /**
+     * Runs a UserDAO call asynchronously.
+     *
+     * @param query The call, e.g. {@code dao -> dao.getAllUsers()}.
+     * @param <T> The result type.
+     * @return A future completed with the call's result.
+     */
+    public static <T> CompletableFuture<T> users(Function<UserDAO, T> query) {
+        return supply(() -> query.apply(USER_DAO), null);
+    }
+
+    /**
+     * Runs any blocking database call asynchronously, subject to the same concurrency limit.
+     *
+     * @param query The call to run.
+     * @param timeout How long the caller is prepared to wait, including time queued behind other queries;
+     *                the future fails with a {@link java.util.concurrent.TimeoutException} after it and the
+     *                query is cancelled. Null for no timeout.
+     * @param <T> The result type.
+     * @return A future completed with the call's result.
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> query, Duration timeout) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Future<?> work = EXECUTOR.submit(() -> {
+            if (future.isDone()) {
+                return; // Cancelled or timed out while queued
+            }
+            try {
+                PERMITS.acquire();
+                try {
+                    if (!future.isDone()) {
+                        future.complete(query.get());
+                    }
+                } finally {
+                    PERMITS.release();
+                }
+            } catch (InterruptedException e) {
+                future.cancel(false);
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        if (timeout != null) {
+            future.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        // Cancellation and timeouts complete the future exceptionally; stop the work as well
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                work.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Stops accepting new queries and interrupts running ones. Called when the application exits.
+     */
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    /**
+     * Uses a virtual-thread-per-task executor when the runtime has one; the application targets Java 17,
+     * so it is looked up reflectively. Otherwise falls back to one daemon thread per pooled connection.
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            LOGGER.log(Level.INFO, "Async DAO queries run on virtual threads.");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            LOGGER.log(Level.FINE, "Virtual threads not available; async DAO queries use a platform thread pool.");
+            return Executors.newFixedThreadPool(DatabaseConnection.getMaxPoolSize(), BackgroundExecutor.daemonThreadFactory("async-dao"));
+        }
+    }
+}
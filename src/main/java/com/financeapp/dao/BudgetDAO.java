@@ -5,6 +5,7 @@ import com.financeapp.model.Budget;
 import com.financeapp.model.Category;
 
 import java.sql.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -65,6 +66,7 @@ public class BudgetDAO {
                     }
                 }
                 LOGGER.log(Level.INFO, "Budget added for user " + budget.getUserId() + ", category ID " + budget.getCategoryId());
+                fireBudgetChanged(budget);
                 return true;
             }
         } catch (SQLException e) {
@@ -73,6 +75,18 @@ public class BudgetDAO {
         return false;
     }
 
+    /**
+     * Reports a change to the budget's month.
+     */
+    private static void fireBudgetChanged(Budget budget) {
+        if (budget.getMonth() >= 1 && budget.getMonth() <= 12) {
+            DataChangeNotifier.fireChanged(DataChangeNotifier.EntityType.BUDGET, budget.getUserId(),
+                    LocalDate.of(budget.getYear(), budget.getMonth(), 1));
+        } else {
+            DataChangeNotifier.fireChangedAllPeriods(DataChangeNotifier.EntityType.BUDGET, budget.getUserId());
+        }
+    }
+
     /**
      * Updates an existing budget in the database.
      * @param budget The Budget object with updated details.
@@ -90,6 +104,7 @@ public class BudgetDAO {
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
                 LOGGER.log(Level.INFO, "Budget updated for ID: " + budget.getBudgetId());
+                fireBudgetChanged(budget);
                 return true;
             }
         } catch (SQLException e) {
@@ -115,6 +130,7 @@ public class BudgetDAO {
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
                 LOGGER.log(Level.INFO, "Budget deleted: " + budgetId + " for user " + userId);
+                DataChangeNotifier.fireChangedAllPeriods(DataChangeNotifier.EntityType.BUDGET, userId); // The budget's month is not known here
                 return true;
             }
         } catch (SQLException e) {
@@ -227,6 +243,54 @@ public class BudgetDAO {
         return budgets;
     }
 
+    static final String BUDGETS_WITH_SPENT_SQL = "SELECT b.budget_id, b.user_id, b.category_id, b.amount_limit, b.month, b.year, b.created_at, " +
+            "c.category_name, COALESCE(r.total, 0) AS amount_spent " +
+            "FROM budgets b " +
+            "JOIN categories c ON b.category_id = c.category_id " +
+            "LEFT JOIN monthly_rollups r ON r.user_id = b.user_id " +
+            "AND r.category_id = b.category_id " +
+            "AND r.type = 'Expense' " +
+            "AND r.year = b.year " +
+            "AND r.month = b.month " +
+            "WHERE b.user_id = ? " +
+            "ORDER BY b.year DESC, b.month DESC, c.category_name ASC";
+
+    /**
+     * Retrieves all budgets for a specific user together with the amount spent in each
+     * budget's category and month. Spending is read from the monthly rollups in a single
+     * query (one join per budget) instead of one query per budget.
+     * @param userId The ID of the user.
+     * @return A list of Budget objects with amountSpent populated.
+     */
+    public List<Budget> getBudgetsWithSpentByUserId(int userId) {
+        List<Budget> budgets = new ArrayList<>();
+        // Each budget matches at most one monthly_rollups row (a primary key lookup), so no grouping is needed.
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(BUDGETS_WITH_SPENT_SQL)) {
+
+            pstmt.setInt(1, userId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Budget budget = new Budget(
+                            rs.getInt("budget_id"),
+                            rs.getInt("user_id"),
+                            rs.getInt("category_id"),
+                            rs.getDouble("amount_limit"),
+                            rs.getInt("month"),
+                            rs.getInt("year"),
+                            rs.getTimestamp("created_at").toLocalDateTime()
+                    );
+                    budget.setCategoryName(rs.getString("category_name"));
+                    budget.setAmountSpent(rs.getDouble("amount_spent"));
+                    budgets.add(budget);
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving budgets with spending for user ID: " + userId, e);
+        }
+        return budgets;
+    }
+
     /**
      * Retrieves all budgets from the database (for admin view).
      * @return A list of all Budget objects.
@@ -20,6 +20,9 @@ public class CategoryDAO {
 
     private static final Logger LOGGER = Logger.getLogger(CategoryDAO.class.getName());
 
+    // Categories by ID, shared by all CategoryDAO instances and invalidated by the write methods below
+    static final EntityCache<Category> CACHE = new EntityCache<>("categories");
+
     /**
      * Adds a new category to the database.
      *
@@ -42,6 +45,7 @@ public class CategoryDAO {
                         category.setCategoryId(generatedKeys.getInt(1));
                     }
                 }
+                DataChangeNotifier.fireChangedAllPeriods(DataChangeNotifier.EntityType.CATEGORY, category.getUserId());
                 return true;
             }
         } catch (SQLException e) {
@@ -66,9 +70,15 @@ public class CategoryDAO {
             pstmt.setInt(4, category.getUserId());
 
             int affectedRows = pstmt.executeUpdate();
+            if (affectedRows > 0) {
+                // Category names appear in charts and predictions for every month
+                DataChangeNotifier.fireChangedAllPeriods(DataChangeNotifier.EntityType.CATEGORY, category.getUserId());
+            }
             return affectedRows > 0;
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error updating category: " + e.getMessage(), e);
+        } finally {
+            CACHE.invalidate(category.getCategoryId());
         }
         return false;
     }
@@ -87,9 +97,15 @@ public class CategoryDAO {
             pstmt.setInt(1, categoryId);
             pstmt.setInt(2, userId);
             int affectedRows = pstmt.executeUpdate();
+            if (affectedRows > 0) {
+                // The category's transactions and budgets are deleted with it (ON DELETE CASCADE)
+                DataChangeNotifier.fireChangedAllPeriods(DataChangeNotifier.EntityType.CATEGORY, userId);
+            }
             return affectedRows > 0;
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error deleting category: " + e.getMessage(), e);
+        } finally {
+            CACHE.invalidate(categoryId);
         }
         return false;
     }
@@ -97,10 +113,16 @@ public class CategoryDAO {
     /**
      * Retrieves a specific category by its ID.
      *
+     * Served from the shared cache when possible.
+     *
      * @param categoryId The ID of the category to retrieve.
      * @return The Category object, or null if not found.
      */
     public Category getCategoryById(int categoryId) {
+        return CACHE.get(categoryId, this::loadCategoryById);
+    }
+
+    private Category loadCategoryById(int categoryId) {
         String sql = "SELECT * FROM categories WHERE category_id = ?";
         Category category = null;
         try (Connection conn = DatabaseConnection.getConnection();
@@ -133,6 +155,7 @@ public class CategoryDAO {
      */
     public List<Category> getCategoriesByUserId(int userId) {
         List<Category> categories = new ArrayList<>();
+        long generationBeforeLoad = EntityCache.generationBeforeLoad(); // Before the query, see EntityCache#put
         String sql = "SELECT * FROM categories WHERE user_id = ? ORDER BY category_name ASC";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -149,6 +172,7 @@ public class CategoryDAO {
                             rs.getTimestamp("created_at").toLocalDateTime()
                     );
                     categories.add(category);
+                    CACHE.put(category.getCategoryId(), category, generationBeforeLoad);
                 }
             }
         } catch (SQLException e) {
@@ -166,6 +190,7 @@ public class CategoryDAO {
      */
     public List<Category> getCategoriesByUserIdAndType(int userId, String type) {
         List<Category> categories = new ArrayList<>();
+        long generationBeforeLoad = EntityCache.generationBeforeLoad(); // Before the query, see EntityCache#put
         String sql = "SELECT * FROM categories WHERE user_id = ? AND category_type = ? ORDER BY category_name ASC";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -183,6 +208,7 @@ public class CategoryDAO {
                             rs.getTimestamp("created_at").toLocalDateTime()
                     );
                     categories.add(category);
+                    CACHE.put(category.getCategoryId(), category, generationBeforeLoad);
                 }
             }
         } catch (SQLException e) {
@@ -0,0 +1,464 @@
+// src/main/java/com/financeapp/dao/ConnectionPool.java
+package com.financeapp.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A small bounded JDBC connection pool used behind {@link DatabaseConnection#getConnection()}.
+ * <p>
+ * Connections handed out by the pool are proxies: calling {@code close()} returns the physical
+ * connection to the pool instead of closing it, so existing try-with-resources code in the DAOs
+ * keeps working unchanged. The pool keeps at least {@code minSize} connections open, never opens
+ * more than {@code maxSize}, validates idle connections before handing them out, evicts connections
+ * that sat idle for too long, and makes callers wait (up to a timeout) when every connection is busy.
+ */
+public class ConnectionPool {
+
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long borrowTimeoutMillis;
+    private final int validationTimeoutSeconds;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition connectionReturned = lock.newCondition();
+    private final Deque<PooledEntry> idle = new ArrayDeque<>(); // Most recently returned connection first
+    private final ScheduledExecutorService evictor;
+
+    // Guarded by lock
+    private int totalConnections;
+    private int activeConnections;
+    private boolean closed;
+
+    // Metrics, guarded by lock
+    private long borrowCount;
+    private long timeoutCount;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+
+    /**
+     * Creates a new pool and schedules the idle-eviction job. Connections are opened lazily
+     * on first use and then topped up to {@code minSize} by the eviction job.
+     *
+     * @param url The JDBC URL.
+     * @param user The database user.
+     * @param password The database password.
+     * @param minSize The minimum number of connections to keep open.
+     * @param maxSize The maximum number of connections that may exist at once.
+     * @param idleTimeoutMillis How long a connection may sit idle before it is closed (above minSize).
+     * @param borrowTimeoutMillis How long a caller waits for a free connection before giving up.
+     * @param validationTimeoutSeconds Timeout passed to {@link Connection#isValid(int)} on borrow.
+     */
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+                          long idleTimeoutMillis, long borrowTimeoutMillis, int validationTimeoutSeconds) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-pool-evictor");
+            thread.setDaemon(true); // Never keep the JVM alive just for pool housekeeping
+            return thread;
+        });
+        long period = Math.max(1000L, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictAndTopUp, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, waiting up to the borrow timeout if all connections are in use.
+     * The returned connection must be closed by the caller to give it back to the pool.
+     *
+     * @return A validated, pooled Connection.
+     * @throws SQLException If the pool is closed, the wait times out, or a new connection cannot be opened.
+     */
+    public Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+
+        while (true) {
+            PooledEntry candidate = null;
+            boolean openNew = false;
+
+            lock.lock();
+            try {
+                while (!closed && idle.isEmpty() && totalConnections >= maxSize) {
+                    if (remainingNanos <= 0L) {
+                        timeoutCount++;
+                        throw new SQLException("Timed out after " + borrowTimeoutMillis
+                                + " ms waiting for a database connection (pool size " + maxSize + ").");
+                    }
+                    try {
+                        remainingNanos = connectionReturned.awaitNanos(remainingNanos);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection.", e);
+                    }
+                }
+                if (closed) {
+                    throw new SQLException("Connection pool has been shut down.");
+                }
+                if (!idle.isEmpty()) {
+                    candidate = idle.pollFirst();
+                } else {
+                    totalConnections++; // Reserve the slot before opening outside the lock
+                    openNew = true;
+                }
+                activeConnections++;
+            } finally {
+                lock.unlock();
+            }
+
+            if (openNew) {
+                try {
+                    candidate = openEntry();
+                    LOGGER.log(Level.FINE, "Opened new pooled database connection.");
+                } catch (SQLException e) {
+                    releaseSlot(true);
+                    throw e;
+                }
+            } else if (!isUsable(candidate)) {
+                // Stale idle connection (e.g. server-side wait_timeout): drop it and try again
+                closeQuietly(candidate.physical);
+                releaseSlot(true);
+                continue;
+            }
+
+            recordWait(System.nanoTime() - start);
+            return candidate.lease();
+        }
+    }
+
+    /**
+     * Closes all idle connections and stops the eviction job. Connections that are still
+     * borrowed are closed when they are returned.
+     */
+    public void shutdown() {
+        evictor.shutdownNow();
+        lock.lock();
+        try {
+            closed = true;
+            for (PooledEntry entry : idle) {
+                closeQuietly(entry.physical);
+                totalConnections--;
+            }
+            idle.clear();
+            connectionReturned.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        LOGGER.log(Level.INFO, "Database connection pool shut down.");
+    }
+
+    /**
+     * Returns a point-in-time snapshot of the pool's metrics.
+     *
+     * @return The current pool statistics.
+     */
+    public Stats getStats() {
+        lock.lock();
+        try {
+            return new Stats(activeConnections, idle.size(), totalConnections, maxSize,
+                    borrowCount, timeoutCount, totalWaitNanos, maxWaitNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gives a physical connection back to the pool. Called by the proxy's {@code close()}.
+     */
+    private void giveBack(PooledEntry entry) {
+        boolean reusable = resetState(entry);
+        lock.lock();
+        try {
+            activeConnections--;
+            if (reusable && !closed) {
+                entry.lastReturnedAt = System.currentTimeMillis();
+                idle.addFirst(entry);
+            } else {
+                totalConnections--;
+                closeQuietly(entry.physical);
+            }
+            connectionReturned.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Restores the session defaults a DAO may have changed, so the next borrower gets a clean connection.
+     *
+     * @return true if the connection can go back to the idle list, false if it should be discarded.
+     */
+    private boolean resetState(PooledEntry entry) {
+        Connection conn = entry.physical;
+        try {
+            if (conn.isClosed()) {
+                return false;
+            }
+            if (!conn.getAutoCommit()) {
+                conn.rollback(); // Never leak an open transaction to the next borrower
+                conn.setAutoCommit(true);
+            }
+            if (conn.isReadOnly()) {
+                conn.setReadOnly(false);
+            }
+            if (conn.getTransactionIsolation() != entry.defaultIsolation) {
+                conn.setTransactionIsolation(entry.defaultIsolation);
+            }
+            return true;
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Discarding pooled connection that could not be reset: " + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private boolean isUsable(PooledEntry entry) {
+        try {
+            return entry.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void releaseSlot(boolean wasActive) {
+        lock.lock();
+        try {
+            totalConnections--;
+            if (wasActive) {
+                activeConnections--;
+            }
+            connectionReturned.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        lock.lock();
+        try {
+            borrowCount++;
+            totalWaitNanos += waitNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Periodic housekeeping: closes connections that have been idle longer than the idle timeout
+     * (never dropping below minSize) and opens connections until minSize is reached again.
+     */
+    private void evictAndTopUp() {
+        long now = System.currentTimeMillis();
+        Deque<PooledEntry> evicted = new ArrayDeque<>();
+        int toOpen;
+
+        lock.lock();
+        try {
+            if (closed) return;
+            // Oldest idle connections are at the tail
+            while (totalConnections > minSize && !idle.isEmpty()
+                    && now - idle.peekLast().lastReturnedAt > idleTimeoutMillis) {
+                evicted.add(idle.pollLast());
+                totalConnections--;
+            }
+            toOpen = Math.max(0, minSize - totalConnections);
+            totalConnections += toOpen;
+        } finally {
+            lock.unlock();
+        }
+
+        for (PooledEntry entry : evicted) {
+            closeQuietly(entry.physical);
+        }
+        if (!evicted.isEmpty()) {
+            LOGGER.log(Level.FINE, "Evicted " + evicted.size() + " idle database connection(s).");
+        }
+
+        for (int i = 0; i < toOpen; i++) {
+            try {
+                PooledEntry entry = openEntry();
+                boolean added = false;
+                lock.lock();
+                try {
+                    if (!closed) { // shutdown() may have run while the connection was being opened
+                        entry.lastReturnedAt = System.currentTimeMillis();
+                        idle.addLast(entry);
+                        connectionReturned.signal();
+                        added = true;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (!added) {
+                    closeQuietly(entry.physical);
+                    for (int j = i; j < toOpen; j++) {
+                        releaseSlot(false); // This slot and the ones not opened yet
+                    }
+                    return;
+                }
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Could not open connection to refill pool: " + e.getMessage(), e);
+                releaseSlot(false);
+            }
+        }
+    }
+
+    /**
+     * Opens a physical connection and wraps it, closing it again if it cannot be wrapped.
+     */
+    private PooledEntry openEntry() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        try {
+            return new PooledEntry(physical);
+        } catch (SQLException | RuntimeException e) {
+            closeQuietly(physical);
+            throw e;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error closing pooled connection: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool.
+     */
+    private final class PooledEntry {
+        private final Connection physical;
+        private final int defaultIsolation;
+        private long lastReturnedAt;
+
+        private PooledEntry(Connection physical) throws SQLException {
+            this.physical = physical;
+            this.defaultIsolation = physical.getTransactionIsolation();
+        }
+
+        /**
+         * Wraps the physical connection in a proxy whose close() returns it to the pool exactly once.
+         */
+        private Connection lease() {
+            InvocationHandler handler = new InvocationHandler() {
+                private boolean returned;
+
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!returned) {
+                                returned = true;
+                                giveBack(PooledEntry.this);
+                            }
+                            return null;
+                        case "isClosed":
+                            return returned || physical.isClosed();
+                        case "unwrap":
+                        case "isWrapperFor":
+                            break;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "PooledConnection[" + physical + "]";
+                        default:
+                            if (returned) {
+                                throw new SQLException("Connection has already been returned to the pool.");
+                            }
+                    }
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            };
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+        }
+    }
+
+    /**
+     * Immutable snapshot of pool metrics.
+     */
+    public static class Stats {
+        private final int active;
+        private final int idle;
+        private final int total;
+        private final int maxSize;
+        private final long borrowCount;
+        private final long timeoutCount;
+        private final long totalWaitNanos;
+        private final long maxWaitNanos;
+
+        Stats(int active, int idle, int total, int maxSize, long borrowCount, long timeoutCount,
+              long totalWaitNanos, long maxWaitNanos) {
+            this.active = active;
+            this.idle = idle;
+            this.total = total;
+            this.maxSize = maxSize;
+            this.borrowCount = borrowCount;
+            this.timeoutCount = timeoutCount;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+        }
+
+        public int getActive() { return active; }
+        public int getIdle() { return idle; }
+        public int getTotal() { return total; }
+        public int getMaxSize() { return maxSize; }
+        public long getBorrowCount() { return borrowCount; }
+        public long getTimeoutCount() { return timeoutCount; }
+
+        public double getAverageWaitMillis() {
+            return borrowCount == 0 ? 0.0 : (totalWaitNanos / (double) borrowCount) / 1_000_000.0;
+        }
+
+        public double getMaxWaitMillis() {
+            return maxWaitNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("active=%d, idle=%d, total=%d/%d, borrows=%d, timeouts=%d, avgWait=%.2fms, maxWait=%.2fms",
+                    active, idle, total, maxSize, borrowCount, timeoutCount, getAverageWaitMillis(), getMaxWaitMillis());
+        }
+    }
+}
@@ -0,0 +1,246 @@
+// src/main/java/com/financeapp/dao/DataChangeNotifier.java
+package com.financeapp.dao;
+
+import com.financeapp.model.Transaction;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Tells interested parties (e.g. caches of computed dashboard data) which user's data a DAO write changed,
+ * and which months it affected. DAOs fire a change after the write succeeds, on the thread that made the write.
+ */
+public class DataChangeNotifier {
+
+    private static final Logger LOGGER = Logger.getLogger(DataChangeNotifier.class.getName());
+
+    /**
+     * The kind of entity a write changed.
+     */
+    public enum EntityType {
+        TRANSACTION, BUDGET, ACCOUNT, CATEGORY
+    }
+
+    /**
+     * Receives data changes. Implementations must be thread-safe and quick; they run on the writer's thread.
+     */
+    public interface Listener {
+        /**
+         * @param type The kind of entity that changed.
+         * @param userId The ID of the user whose data changed.
+         * @param periods The months the change affects, or an empty set if it may affect any month
+         *                (e.g. a renamed category, or a deleted account taking its transactions with it).
+         */
+        void dataChanged(EntityType type, int userId, Set<YearMonth> periods);
+    }
+
+    /**
+     * Receives the description and category of transactions as they are written, e.g. to learn how a user
+     * categorizes. The same rules as for {@link Listener} apply.
+     */
+    public interface TransactionListener {
+        /**
+         * @param writes The written transactions, in the order they were written.
+         */
+        void transactionsWritten(List<TransactionWrite> writes);
+    }
+
+    /**
+     * The description and category of a transaction before and after an insert or update, with the
+     * {@link #nextWriteSequence() write sequence} numbers taken before the write started and after it committed.
+     */
+    public static final class TransactionWrite {
+        private final int userId;
+        private final String oldDescription;
+        private final int oldCategoryId;
+        private final String newDescription;
+        private final int newCategoryId;
+        private final long startSequence;
+        private final long commitSequence;
+
+        private TransactionWrite(int userId, String oldDescription, int oldCategoryId, String newDescription, int newCategoryId,
+                                 long startSequence, long commitSequence) {
+            this.userId = userId;
+            this.oldDescription = oldDescription;
+            this.oldCategoryId = oldCategoryId;
+            this.newDescription = newDescription;
+            this.newCategoryId = newCategoryId;
+            this.startSequence = startSequence;
+            this.commitSequence = commitSequence;
+        }
+
+        static TransactionWrite inserted(Transaction transaction, long startSequence) {
+            return new TransactionWrite(transaction.getUserId(), null, 0, transaction.getDescription(), transaction.getCategoryId(),
+                    startSequence, 0);
+        }
+
+        static TransactionWrite updated(String oldDescription, int oldCategoryId, Transaction transaction, long startSequence) {
+            return new TransactionWrite(transaction.getUserId(), oldDescription, oldCategoryId,
+                    transaction.getDescription(), transaction.getCategoryId(), startSequence, 0);
+        }
+
+        private TransactionWrite committed(long commitSequence) {
+            return new TransactionWrite(userId, oldDescription, oldCategoryId, newDescription, newCategoryId,
+                    startSequence, commitSequence);
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        /** @return The description before an update, or null for an insert. */
+        public String getOldDescription() {
+            return oldDescription;
+        }
+
+        /** @return The category ID before an update, or 0 for an insert. */
+        public int getOldCategoryId() {
+            return oldCategoryId;
+        }
+
+        public String getNewDescription() {
+            return newDescription;
+        }
+
+        public int getNewCategoryId() {
+            return newCategoryId;
+        }
+
+        public boolean isInsert() {
+            return oldCategoryId == 0;
+        }
+
+        /** @return A write sequence number taken before the writing database transaction started. */
+        public long getStartSequence() {
+            return startSequence;
+        }
+
+        /** @return A write sequence number taken after the writing database transaction committed. */
+        public long getCommitSequence() {
+            return commitSequence;
+        }
+    }
+
+    private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+    private static final List<TransactionListener> TRANSACTION_LISTENERS = new CopyOnWriteArrayList<>();
+    private static final AtomicLong WRITE_SEQUENCE = new AtomicLong();
+
+    /**
+     * Private constructor to prevent instantiation, as this is a utility class with static methods.
+     */
+    private DataChangeNotifier() {
+        // Private constructor
+    }
+
+    public static void addListener(Listener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeListener(Listener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    public static void addTransactionListener(TransactionListener listener) {
+        TRANSACTION_LISTENERS.add(listener);
+    }
+
+    public static void removeTransactionListener(TransactionListener listener) {
+        TRANSACTION_LISTENERS.remove(listener);
+    }
+
+    /**
+     * Returns the next number of a counter that orders transaction writes against reads. Writers take a number
+     * before they start and, through {@link #fireTransactionsWritten(List)}, after they commit; a reader that takes
+     * one before and one after a read can then tell that the read includes every write whose commit number is
+     * lower than its first number, and no write whose start number is higher than its second.
+     *
+     * @return A number higher than any returned before.
+     */
+    public static long nextWriteSequence() {
+        return WRITE_SEQUENCE.incrementAndGet();
+    }
+
+    /**
+     * @return true if any {@link TransactionListener} is registered, so writers can skip building the writes.
+     */
+    static boolean hasTransactionListeners() {
+        return !TRANSACTION_LISTENERS.isEmpty();
+    }
+
+    /**
+     * Reports the content of written transactions. Must be called after they are committed: this numbers them
+     * with their commit sequence.
+     *
+     * @param writes The writes, in order.
+     */
+    static void fireTransactionsWritten(List<TransactionWrite> writes) {
+        if (writes.isEmpty() || TRANSACTION_LISTENERS.isEmpty()) {
+            return;
+        }
+        long commitSequence = nextWriteSequence();
+        List<TransactionWrite> committedWrites = new ArrayList<>(writes.size());
+        for (TransactionWrite write : writes) {
+            committedWrites.add(write.committed(commitSequence));
+        }
+        List<TransactionWrite> unmodifiableWrites = Collections.unmodifiableList(committedWrites);
+        for (TransactionListener listener : TRANSACTION_LISTENERS) {
+            try {
+                listener.transactionsWritten(unmodifiableWrites);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Transaction listener failed: " + e.getMessage(), e); // A listener must not fail the write
+            }
+        }
+    }
+
+    /**
+     * Reports a change that affects the months of the given dates.
+     *
+     * @param type The kind of entity that changed.
+     * @param userId The ID of the user whose data changed.
+     * @param dates Dates of the changed rows (e.g. a transaction's old and new date).
+     */
+    static void fireChanged(EntityType type, int userId, LocalDate... dates) {
+        Set<YearMonth> periods = new TreeSet<>();
+        for (LocalDate date : dates) {
+            periods.add(YearMonth.from(date));
+        }
+        fireChanged(type, userId, periods);
+    }
+
+    /**
+     * Reports a change that may affect any month.
+     *
+     * @param type The kind of entity that changed.
+     * @param userId The ID of the user whose data changed.
+     */
+    static void fireChangedAllPeriods(EntityType type, int userId) {
+        fireChanged(type, userId, Collections.emptySet());
+    }
+
+    /**
+     * Reports a change that affects the given months.
+     *
+     * @param type The kind of entity that changed.
+     * @param userId The ID of the user whose data changed.
+     * @param periods The affected months; empty for any month.
+     */
+    static void fireChanged(EntityType type, int userId, Set<YearMonth> periods) {
+        Set<YearMonth> unmodifiablePeriods = Collections.unmodifiableSet(periods);
+        for (Listener listener : LISTENERS) {
+            try {
+                listener.dataChanged(type, userId, unmodifiablePeriods);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Data change listener failed: " + e.getMessage(), e); // A listener must not fail the write
+            }
+        }
+    }
+}
@@ -2,7 +2,6 @@
 package com.financeapp.dao;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -10,20 +9,32 @@ import java.util.logging.Logger;
 /**
  * Utility class to manage database connections.
  * Provides a singleton-like method to get and close database connections.
+ * Connections are served from a bounded {@link ConnectionPool}; closing a connection
+ * returns it to the pool rather than tearing down the MySQL session.
  * <p>
  * IMPORTANT: Update DB_URL, DB_USER, and DB_PASSWORD with your MySQL credentials.
  */
 public class DatabaseConnection {
 
     // JDBC URL for your MySQL database. Replace 'localhost:3306' and 'finance_app_db'.
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/finance_app_db";
+    // rewriteBatchedStatements lets the driver send JDBC batches (TransactionDAO.addTransactions) as multi-row INSERTs.
+    private static final String DB_URL = "jdbc:mysql://localhost:3306/finance_app_db?rewriteBatchedStatements=true";
     // Database username
     private static final String DB_USER = "root";
     // Database password
     private static final String DB_PASSWORD = "Kavita@0020";
 
+    // Connection pool sizing and timeouts
+    private static final int POOL_MIN_SIZE = 2;
+    private static final int POOL_MAX_SIZE = 10;
+    private static final long POOL_IDLE_TIMEOUT_MILLIS = 5 * 60 * 1000L; // Close connections idle for 5 minutes
+    private static final long POOL_BORROW_TIMEOUT_MILLIS = 10 * 1000L;   // Wait at most 10 seconds for a free connection
+    private static final int POOL_VALIDATION_TIMEOUT_SECONDS = 2;
+
     private static final Logger LOGGER = Logger.getLogger(DatabaseConnection.class.getName());
 
+    private static volatile ConnectionPool pool;
+
     /**
      * Private constructor to prevent instantiation from outside,
      * as this is a utility class with static methods.
@@ -33,17 +44,21 @@ public class DatabaseConnection {
     }
 
     /**
-     * Establishes and returns a connection to the database.
+     * Returns a connection to the database, borrowed from the connection pool.
+     * Callers must close the connection when done; this returns it to the pool.
+     * If a {@link UnitOfWork} is open on the calling thread, the unit's shared connection is returned instead.
      *
      * @return A valid Connection object if successful, null otherwise.
      */
     public static Connection getConnection() {
+        UnitOfWork unit = UnitOfWork.current();
+        if (unit != null) {
+            return unit.getScopedConnection();
+        }
         Connection connection = null;
         try {
-            // Load the MySQL JDBC driver (not strictly necessary for newer JDBC versions but good practice)
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            connection = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-            LOGGER.log(Level.INFO, "Database connection established successfully.");
+            connection = getPool().borrow();
+            LOGGER.log(Level.FINE, "Database connection borrowed from pool.");
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Failed to connect to the database!", e);
             // In a real application, you might want to show an alert to the user here.
@@ -53,8 +68,62 @@ public class DatabaseConnection {
         return connection;
     }
 
+    /**
+     * Returns the maximum number of pooled connections, i.e. how many queries can run at the same time.
+     *
+     * @return The pool's maximum size.
+     */
+    public static int getMaxPoolSize() {
+        return POOL_MAX_SIZE;
+    }
+
+    /**
+     * Returns current connection pool metrics (active, idle, wait times).
+     *
+     * @return A snapshot of the pool statistics, or null if the pool has not been created yet.
+     */
+    public static ConnectionPool.Stats getPoolStats() {
+        ConnectionPool current = pool;
+        return current != null ? current.getStats() : null;
+    }
+
+    /**
+     * Closes all pooled connections. Should be called once when the application exits.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            LOGGER.log(Level.INFO, "Connection pool stats at shutdown: " + pool.getStats());
+            LOGGER.log(Level.INFO, "Entity cache stats at shutdown: " + AccountDAO.CACHE + "; " + CategoryDAO.CACHE + "; " + UserDAO.CACHE);
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    /**
+     * Lazily creates the shared pool on first use.
+     */
+    private static ConnectionPool getPool() throws ClassNotFoundException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DatabaseConnection.class) {
+                current = pool;
+                if (current == null) {
+                    // Load the MySQL JDBC driver once (not strictly necessary for newer JDBC versions but good practice)
+                    Class.forName("com.mysql.cj.jdbc.Driver");
+                    current = new ConnectionPool(DB_URL, DB_USER, DB_PASSWORD,
+                            POOL_MIN_SIZE, POOL_MAX_SIZE, POOL_IDLE_TIMEOUT_MILLIS,
+                            POOL_BORROW_TIMEOUT_MILLIS, POOL_VALIDATION_TIMEOUT_SECONDS);
+                    pool = current;
+                    LOGGER.log(Level.INFO, "Database connection pool created (min " + POOL_MIN_SIZE + ", max " + POOL_MAX_SIZE + ").");
+                }
+            }
+        }
+        return current;
+    }
+
     /**
      * Closes the given database connection, if it's not null and not already closed.
+     * For pooled connections this returns the connection to the pool.
      *
      * @param connection The Connection object to close.
      */
@@ -62,7 +131,7 @@ public class DatabaseConnection {
         if (connection != null) {
             try {
                 connection.close();
-                LOGGER.log(Level.INFO, "Database connection closed.");
+                LOGGER.log(Level.FINE, "Database connection returned to pool.");
             } catch (SQLException e) {
                 LOGGER.log(Level.SEVERE, "Error closing database connection!", e);
             }
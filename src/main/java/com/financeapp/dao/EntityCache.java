@@ -0,0 +1,148 @@
+// src/main/java/com/financeapp/dao/EntityCache.java
+package com.financeapp.dao;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * A read-through cache of entities keyed by their integer ID, shared by all instances of a DAO.
+ * <p>
+ * Lookups go to the database only on a miss; the owning DAO invalidates entries from its write methods
+ * (and from any other write that changes the cached row, e.g. transactions changing an account balance).
+ * Hit and miss counters are kept so the cache's effectiveness can be logged.
+ * <p>
+ * Cached objects are shared: callers must not modify them except as a prelude to writing them back
+ * through the DAO, which invalidates the entry.
+ * <p>
+ * Every invalidation, in any cache, bumps one shared generation counter. A row is only cached if no
+ * invalidation happened since before it was read, so a read that raced with a write cannot put the pre-write
+ * row back. Inside a {@link UnitOfWork} the rows come from the unit's snapshot, so the generation from when
+ * the unit began is used instead.
+ *
+ * @param <T> The entity type.
+ */
+public class EntityCache<T> {
+
+    private final String name;
+    private final Map<Integer, T> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    // Bumped on every invalidation, so a load that raced with a write is not cached
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    /**
+     * @param name A short name used in log output, e.g. "accounts".
+     */
+    public EntityCache(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the cached entity, loading and caching it on a miss.
+     *
+     * @param id The entity ID.
+     * @param loader Loads the entity from the database; may return null if it does not exist.
+     * @return The entity, or null if the loader found none. Null results are not cached.
+     */
+    public T get(int id, IntFunction<T> loader) {
+        T cached = entries.get(id);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        long generationBeforeLoad = generationBeforeLoad();
+        T loaded = loader.apply(id);
+        if (loaded != null && GENERATION.get() == generationBeforeLoad && entries.putIfAbsent(id, loaded) == null
+                && GENERATION.get() != generationBeforeLoad) {
+            entries.remove(id, loaded); // Invalidated while it was being added
+        }
+        return loaded;
+    }
+
+    /**
+     * Caches an entity that was read by another query (e.g. a list query), so later lookups by ID hit.
+     * Nothing is cached if any cache was invalidated since the query started.
+     *
+     * @param id The entity ID.
+     * @param entity The entity.
+     * @param generationBeforeLoad The value of {@link #generationBeforeLoad()} taken before the query ran.
+     */
+    public void put(int id, T entity, long generationBeforeLoad) {
+        if (entity != null && GENERATION.get() == generationBeforeLoad) {
+            entries.put(id, entity);
+            if (GENERATION.get() != generationBeforeLoad) {
+                entries.remove(id, entity); // Invalidated while it was being added
+            }
+        }
+    }
+
+    /**
+     * Returns the generation to compare against before caching rows read from now on: the current one,
+     * or the one from when the current thread's unit of work began, since its reads see that snapshot.
+     *
+     * @return The generation; pass it to {@link #put(int, Object, long)} after the query.
+     */
+    public static long generationBeforeLoad() {
+        UnitOfWork unit = UnitOfWork.current();
+        return unit != null ? unit.getCacheGeneration() : GENERATION.get();
+    }
+
+    /**
+     * @return The current generation, without regard to any unit of work.
+     */
+    static long currentGeneration() {
+        return GENERATION.get();
+    }
+
+    /**
+     * Removes one entity from the cache.
+     *
+     * @param id The entity ID.
+     */
+    public void invalidate(int id) {
+        GENERATION.incrementAndGet();
+        entries.remove(id);
+    }
+
+    /**
+     * Removes every cached entity matching the condition, e.g. all entities owned by a deleted user.
+     *
+     * @param condition Selects the entities to remove.
+     */
+    public void invalidateIf(Predicate<T> condition) {
+        GENERATION.incrementAndGet();
+        entries.values().removeIf(condition);
+    }
+
+    /**
+     * Empties the cache.
+     */
+    public void invalidateAll() {
+        GENERATION.incrementAndGet();
+        entries.clear();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return String.format("%s cache: size=%d, hits=%d, misses=%d, hitRate=%.1f%%",
+                name, entries.size(), hitCount, total - hitCount, total == 0 ? 0.0 : hitCount * 100.0 / total);
+    }
+}
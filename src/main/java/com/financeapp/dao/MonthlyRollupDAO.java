@@ -0,0 +1,234 @@
+// src/main/java/com/financeapp/dao/MonthlyRollupDAO.java
+package com.financeapp.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Data Access Object for the {@code monthly_rollups} table, which holds the total amount and number of
+ * transactions per user, category, type and calendar month.
+ * <p>
+ * The table is maintained by TransactionDAO (and AccountDAO when an account and its transactions are deleted)
+ * in the same database transaction as the write to {@code transactions}, through {@link Changes}.
+ * Dashboard totals, charts and budget spending read from it, so their cost depends on the number of
+ * categories and months rather than on the number of transactions.
+ * {@link #verify()} and {@link #rebuild()} reconcile it with the raw transactions.
+ */
+public class MonthlyRollupDAO {
+
+    private static final Logger LOGGER = Logger.getLogger(MonthlyRollupDAO.class.getName());
+
+    // Raw per-month aggregates, in the same shape as the rollup table
+    private static final String RAW_AGGREGATE_SQL =
+            "SELECT user_id, category_id, type, YEAR(transaction_date) AS year, MONTH(transaction_date) AS month, " +
+            "SUM(amount) AS total, COUNT(*) AS txn_count " +
+            "FROM transactions " +
+            "GROUP BY user_id, category_id, type, YEAR(transaction_date), MONTH(transaction_date)";
+
+    /**
+     * Counts the rollup rows that disagree with the raw transactions: missing rows, rows with a different
+     * total or count, and non-empty rows for months that have no transactions.
+     *
+     * @return The number of mismatched rows (0 if the table is consistent), or -1 if the check failed.
+     */
+    public int verify() {
+        String sql = "SELECT COUNT(*) FROM (" +
+                "SELECT g.user_id FROM (" + RAW_AGGREGATE_SQL + ") g " +
+                "LEFT JOIN monthly_rollups r ON r.user_id = g.user_id AND r.category_id = g.category_id " +
+                "AND r.type = g.type AND r.year = g.year AND r.month = g.month " +
+                "WHERE r.user_id IS NULL OR r.total <> g.total OR r.txn_count <> g.txn_count " +
+                "UNION ALL " +
+                "SELECT r.user_id FROM monthly_rollups r " +
+                "LEFT JOIN (" + RAW_AGGREGATE_SQL + ") g ON r.user_id = g.user_id AND r.category_id = g.category_id " +
+                "AND r.type = g.type AND r.year = g.year AND r.month = g.month " +
+                "WHERE g.user_id IS NULL AND (r.txn_count <> 0 OR r.total <> 0)" +
+                ") mismatches";
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error verifying monthly rollups: " + e.getMessage(), e);
+        }
+        return -1;
+    }
+
+    /**
+     * Recomputes the whole rollup table from the raw transactions in one database transaction.
+     * Concurrent transaction writes wait for the rebuild to finish, so no change is lost.
+     *
+     * @return true if the table was rebuilt, false otherwise.
+     */
+    public boolean rebuild() {
+        Connection conn = null;
+        boolean success = false;
+        try {
+            conn = DatabaseConnection.getConnection();
+            conn.setAutoCommit(false); // Start transaction
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM monthly_rollups");
+                int rows = stmt.executeUpdate("INSERT INTO monthly_rollups (user_id, category_id, type, year, month, total, txn_count) " +
+                        RAW_AGGREGATE_SQL);
+                conn.commit();
+                success = true;
+                LOGGER.log(Level.INFO, "Rebuilt monthly rollups: " + rows + " rows.");
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error rebuilding monthly rollups: " + e.getMessage(), e);
+            if (conn != null) {
+                try {
+                    conn.rollback(); // Rollback on error
+                } catch (SQLException ex) {
+                    LOGGER.log(Level.SEVERE, "Error during rollback: " + ex.getMessage(), ex);
+                }
+            }
+        } finally {
+            try {
+                if (conn != null) conn.setAutoCommit(true); // Restore auto-commit
+                if (conn != null) conn.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.SEVERE, "Error closing resources: " + e.getMessage(), e);
+            }
+        }
+        return success;
+    }
+
+    /**
+     * Removes the contribution of an account's transactions from the rollups, using an existing connection.
+     * This is a helper for AccountDAO, which must call it before deleting the account (and, by cascade, its transactions).
+     *
+     * @param conn The active SQL Connection, inside the database transaction that deletes the account.
+     * @param accountId The ID of the account.
+     * @param userId The ID of the user who owns the account.
+     * @throws SQLException If a database access error occurs.
+     */
+    static void subtractAccount(Connection conn, int accountId, int userId) throws SQLException {
+        String sql = "UPDATE monthly_rollups r JOIN (" +
+                "SELECT user_id, category_id, type, YEAR(transaction_date) AS year, MONTH(transaction_date) AS month, " +
+                "SUM(amount) AS total, COUNT(*) AS txn_count " +
+                "FROM transactions WHERE account_id = ? AND user_id = ? " +
+                "GROUP BY user_id, category_id, type, YEAR(transaction_date), MONTH(transaction_date)" +
+                ") g ON r.user_id = g.user_id AND r.category_id = g.category_id " +
+                "AND r.type = g.type AND r.year = g.year AND r.month = g.month " +
+                "SET r.total = r.total - g.total, r.txn_count = r.txn_count - g.txn_count";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, accountId);
+            pstmt.setInt(2, userId);
+            pstmt.executeUpdate();
+        }
+        deleteEmptyRows(conn, userId);
+    }
+
+    private static void deleteEmptyRows(Connection conn, int userId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM monthly_rollups WHERE user_id = ? AND txn_count <= 0")) {
+            pstmt.setInt(1, userId);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Collects the rollup changes caused by one or more transaction writes, so they can be applied with
+     * one upsert per affected (user, category, type, month) inside the writer's database transaction.
+     */
+    static final class Changes {
+        private final Map<Key, Delta> deltas = new LinkedHashMap<>();
+
+        /**
+         * Records that a transaction was added (count 1) or removed (count -1).
+         *
+         * @param userId The ID of the user who owns the transaction.
+         * @param categoryId The transaction's category ID.
+         * @param type The transaction's type ("Income" or "Expense").
+         * @param date The transaction's date; only the year and month are used.
+         * @param amount The signed change to the total (negative when a transaction is removed).
+         * @param count The change to the number of transactions.
+         */
+        void add(int userId, int categoryId, String type, LocalDate date, double amount, int count) {
+            Delta delta = deltas.computeIfAbsent(new Key(userId, categoryId, type, date.getYear(), date.getMonthValue()), k -> new Delta());
+            delta.total += amount;
+            delta.count += count;
+        }
+
+        /**
+         * Writes the collected changes and removes rollup rows that no longer count any transaction.
+         *
+         * @param conn The active SQL Connection, inside the writer's database transaction.
+         * @throws SQLException If a database access error occurs.
+         */
+        void apply(Connection conn) throws SQLException {
+            String sql = "INSERT INTO monthly_rollups (user_id, category_id, type, year, month, total, txn_count) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE total = total + VALUES(total), txn_count = txn_count + VALUES(txn_count)";
+            boolean removedAny = false;
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (Map.Entry<Key, Delta> entry : deltas.entrySet()) {
+                    Key key = entry.getKey();
+                    Delta delta = entry.getValue();
+                    if (delta.count == 0 && delta.total == 0) {
+                        continue; // E.g. an update that changed only the description
+                    }
+                    pstmt.setInt(1, key.userId);
+                    pstmt.setInt(2, key.categoryId);
+                    pstmt.setString(3, key.type);
+                    pstmt.setInt(4, key.year);
+                    pstmt.setInt(5, key.month);
+                    pstmt.setDouble(6, delta.total);
+                    pstmt.setInt(7, delta.count);
+                    pstmt.addBatch();
+                    removedAny |= delta.count < 0;
+                }
+                pstmt.executeBatch();
+            }
+            if (removedAny) {
+                for (int userId : deltas.keySet().stream().mapToInt(key -> key.userId).distinct().toArray()) {
+                    deleteEmptyRows(conn, userId);
+                }
+            }
+            deltas.clear();
+        }
+    }
+
+    private static final class Key {
+        private final int userId;
+        private final int categoryId;
+        private final String type;
+        private final int year;
+        private final int month;
+
+        private Key(int userId, int categoryId, String type, int year, int month) {
+            this.userId = userId;
+            this.categoryId = categoryId;
+            this.type = type;
+            this.year = year;
+            this.month = month;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return userId == other.userId && categoryId == other.categoryId && year == other.year
+                    && month == other.month && type.equals(other.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, categoryId, type, year, month);
+        }
+    }
+
+    private static final class Delta {
+        private double total;
+        private int count;
+    }
+}
@@ -0,0 +1,191 @@
+// src/main/java/com/financeapp/dao/QueryPlanCheck.java
+package com.financeapp.dao;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Self-check that runs the dashboard and admin queries through {@code EXPLAIN} and fails if any of them
+ * reads the {@code transactions} or {@code monthly_rollups} table with a full table scan ({@code type = ALL}).
+ * <p>
+ * The statements are the same ones the DAOs execute (they are taken from TransactionDAO and BudgetDAO), bound
+ * with sample values for one user. Run it against a database that holds realistic data: MySQL picks a plan from
+ * the table statistics, so an almost empty table can legitimately be scanned.
+ * <pre>
+ * java -cp ... com.financeapp.dao.QueryPlanCheck [userId [categoryId]]
+ * </pre>
+ * The process exits with status 0 if every plan uses an index, 1 if a query falls back to a full scan
+ * (the query is named in the output), and 2 if the check could not run.
+ */
+public class QueryPlanCheck {
+
+    // EXPLAIN reports a table by its alias; in the checked queries t and r only ever alias these two tables
+    private static final Set<String> CHECKED_TABLES = Set.of("transactions", "t", "monthly_rollups", "r");
+
+    private static final int PAGE_SIZE = 200;
+    private static final int TOP_CATEGORIES = 5;
+    private static final int MONTHS_BACK = 6;
+
+    /**
+     * Binds the sample parameter values of one checked query.
+     */
+    private interface Binder {
+        void bind(PreparedStatement pstmt) throws SQLException;
+    }
+
+    private static final class Check {
+        private final String name;
+        private final String sql;
+        private final Binder binder;
+
+        private Check(String name, String sql, Binder binder) {
+            this.name = name;
+            this.sql = sql;
+            this.binder = binder;
+        }
+    }
+
+    public static void main(String[] args) {
+        int userId = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        int categoryId = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+
+        List<String> fullScans = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null) {
+                System.out.println("Could not connect to the database.");
+                System.exit(2);
+            }
+            for (Check check : checks(userId, categoryId)) {
+                if (usesFullScan(conn, check)) {
+                    fullScans.add(check.name);
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Query plan check failed: " + e.getMessage());
+            System.exit(2);
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+
+        if (!fullScans.isEmpty()) {
+            System.out.println("Full table scans in: " + String.join(", ", fullScans));
+            System.exit(1);
+        }
+        System.out.println("All dashboard queries use an index.");
+    }
+
+    private static List<Check> checks(int userId, int categoryId) {
+        LocalDate today = LocalDate.now();
+        YearMonth current = YearMonth.from(today);
+        YearMonth start = current.minusMonths(MONTHS_BACK - 1);
+        Date cursorDate = Date.valueOf(today.minusMonths(1));
+        int cursorId = Integer.MAX_VALUE;
+
+        List<Check> checks = new ArrayList<>();
+        checks.add(new Check("getTotalIncomeForMonth", TransactionDAO.TOTAL_INCOME_FOR_MONTH_SQL, pstmt -> {
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, current.getYear());
+            pstmt.setInt(3, current.getMonthValue());
+        }));
+        checks.add(new Check("getTotalExpensesForMonth", TransactionDAO.TOTAL_EXPENSES_FOR_MONTH_SQL, pstmt -> {
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, current.getYear());
+            pstmt.setInt(3, current.getMonthValue());
+        }));
+        checks.add(new Check("getTotalExpenseForCategoryMonthYear", TransactionDAO.CATEGORY_EXPENSE_FOR_MONTH_SQL, pstmt -> {
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, categoryId);
+            pstmt.setInt(3, current.getYear());
+            pstmt.setInt(4, current.getMonthValue());
+        }));
+        checks.add(new Check("getExpenseCategoriesBreakdown", TransactionDAO.EXPENSE_CATEGORIES_BREAKDOWN_SQL, pstmt -> {
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, current.getYear());
+            pstmt.setInt(3, current.getMonthValue());
+        }));
+        checks.add(new Check("getMonthlyExpenses", TransactionDAO.MONTHLY_EXPENSES_SQL, pstmt -> {
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, start.getYear());
+            pstmt.setInt(3, start.getYear());
+            pstmt.setInt(4, start.getMonthValue());
+        }));
+        checks.add(new Check("getMonthlyExpenseMatrix", TransactionDAO.MONTHLY_EXPENSE_MATRIX_SQL, pstmt -> {
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, start.getYear());
+            pstmt.setInt(3, start.getYear());
+            pstmt.setInt(4, start.getMonthValue());
+            pstmt.setInt(5, current.getYear());
+            pstmt.setInt(6, current.getYear());
+            pstmt.setInt(7, current.getMonthValue());
+        }));
+        checks.add(new Check("getHistoricalMonthlySpendingForCategory", TransactionDAO.HISTORICAL_CATEGORY_SPENDING_SQL, pstmt -> {
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, categoryId);
+            pstmt.setInt(3, MONTHS_BACK);
+        }));
+        checks.add(new Check("getDailyExpenseTotals", TransactionDAO.dailyExpenseTotalsSql(true, true), pstmt -> {
+            pstmt.setInt(1, userId);
+            pstmt.setDate(2, Date.valueOf(start.atDay(1)));
+            pstmt.setDate(3, Date.valueOf(today.plusDays(1)));
+        }));
+        checks.add(new Check("getTransactionsPage (first page)", TransactionDAO.transactionsPageSql(false), pstmt -> {
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, PAGE_SIZE);
+        }));
+        checks.add(new Check("getTransactionsPage (next page)", TransactionDAO.transactionsPageSql(true), pstmt -> {
+            pstmt.setInt(1, userId);
+            pstmt.setDate(2, cursorDate);
+            pstmt.setDate(3, cursorDate);
+            pstmt.setInt(4, cursorId);
+            pstmt.setInt(5, PAGE_SIZE);
+        }));
+        checks.add(new Check("getBudgetsWithSpentByUserId", BudgetDAO.BUDGETS_WITH_SPENT_SQL, pstmt ->
+                pstmt.setInt(1, userId)));
+        checks.add(new Check("getGlobalStatistics", TransactionDAO.GLOBAL_TOTALS_SQL, pstmt -> { }));
+        checks.add(new Check("getTopExpenseCategories", TransactionDAO.TOP_EXPENSE_CATEGORIES_SQL, pstmt ->
+                pstmt.setInt(1, TOP_CATEGORIES)));
+        checks.add(new Check("getAllTransactionsPage (first page)", TransactionDAO.allTransactionsPageSql(false), pstmt ->
+                pstmt.setInt(1, PAGE_SIZE)));
+        checks.add(new Check("getAllTransactionsPage (next page)", TransactionDAO.allTransactionsPageSql(true), pstmt -> {
+            pstmt.setDate(1, cursorDate);
+            pstmt.setDate(2, cursorDate);
+            pstmt.setInt(3, cursorId);
+            pstmt.setInt(4, PAGE_SIZE);
+        }));
+        return checks;
+    }
+
+    /**
+     * Explains one query and prints its plan rows for the checked tables.
+     *
+     * @return true if any checked table is read with a full table scan.
+     */
+    private static boolean usesFullScan(Connection conn, Check check) throws SQLException {
+        boolean fullScan = false;
+        try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + check.sql)) {
+            check.binder.bind(pstmt);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String table = rs.getString("table");
+                    if (table == null || !CHECKED_TABLES.contains(table)) {
+                        continue;
+                    }
+                    String type = rs.getString("type");
+                    boolean scan = "ALL".equalsIgnoreCase(type);
+                    System.out.println((scan ? "FAIL " : "ok   ") + check.name + ": " + table +
+                            " type=" + type + " key=" + rs.getString("key"));
+                    fullScan |= scan;
+                }
+            }
+        }
+        return fullScan;
+    }
+}
@@ -3,6 +3,7 @@ package com.financeapp.dao;
 
 import com.financeapp.model.Account;
 import com.financeapp.model.Category;
+import com.financeapp.model.GlobalStatistics;
 import com.financeapp.model.Transaction;
 
 import java.sql.Connection;
@@ -12,11 +13,19 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,16 +36,18 @@ import java.util.logging.Logger;
 public class TransactionDAO {
 
     private static final Logger LOGGER = Logger.getLogger(TransactionDAO.class.getName());
+    private static final int DEFAULT_BATCH_CHUNK_SIZE = 1000; // Rows per commit in addTransactions
 
     /**
      * Adds a new transaction to the database.
-     * Also updates the current balance of the associated account.
+     * Also updates the current balance of the associated account and the monthly rollups.
      *
      * @param transaction The Transaction object to add.
      * @return true if the transaction was added successfully, false otherwise.
      */
     public boolean addTransaction(Transaction transaction) {
         String sql = "INSERT INTO transactions (user_id, account_id, category_id, amount, type, description, transaction_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        long startSequence = DataChangeNotifier.nextWriteSequence();
         Connection conn = null;
         PreparedStatement pstmt = null;
         boolean success = false;
@@ -66,6 +77,9 @@ public class TransactionDAO {
 
                 // Update account balance
                 updateAccountBalance(conn, transaction.getAccountId(), transaction.getAmount(), transaction.getType(), true);
+                MonthlyRollupDAO.Changes rollups = new MonthlyRollupDAO.Changes();
+                addToRollups(rollups, transaction);
+                rollups.apply(conn);
                 conn.commit(); // Commit transaction
                 success = true;
             } else {
@@ -88,13 +102,131 @@ public class TransactionDAO {
             } catch (SQLException e) {
                 LOGGER.log(Level.SEVERE, "Error closing resources: " + e.getMessage(), e);
             }
+            // Again after the commit: a read between the balance update and the commit may have cached the old balance
+            AccountDAO.CACHE.invalidate(transaction.getAccountId());
+        }
+        if (success) {
+            DataChangeNotifier.fireChanged(DataChangeNotifier.EntityType.TRANSACTION, transaction.getUserId(), transaction.getTransactionDate());
+            DataChangeNotifier.fireTransactionsWritten(List.of(DataChangeNotifier.TransactionWrite.inserted(transaction, startSequence)));
         }
         return success;
     }
 
+    /**
+     * Adds many transactions at once, committing every 1000 rows.
+     *
+     * @param transactions The transactions to add.
+     * @return The number of transactions added.
+     * @see #addTransactions(List, int)
+     */
+    public int addTransactions(List<Transaction> transactions) {
+        return addTransactions(transactions, DEFAULT_BATCH_CHUNK_SIZE);
+    }
+
+    /**
+     * Adds many transactions at once, e.g. from an imported bank statement.
+     * <p>
+     * Rows are sent with JDBC batching (the driver rewrites each batch into multi-row INSERTs) and account
+     * balances and monthly rollups are updated once per account (or rollup row) per chunk with the net change,
+     * instead of once per row.
+     * Account types are looked up for all accounts in one query up front. Each chunk is committed on its own,
+     * so if a chunk fails, the chunks before it stay committed and the rest are not attempted.
+     * Generated IDs are set on the inserted Transaction objects.
+     *
+     * @param transactions The transactions to add.
+     * @param chunkSize The number of rows inserted and committed together.
+     * @return The number of transactions added (committed).
+     */
+    public int addTransactions(List<Transaction> transactions, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+        String insertSql = "INSERT INTO transactions (user_id, account_id, category_id, amount, type, description, transaction_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String balanceSql = "UPDATE accounts SET current_balance = current_balance + ? WHERE account_id = ?";
+        Set<Integer> accountIds = new HashSet<>();
+        for (Transaction transaction : transactions) {
+            accountIds.add(transaction.getAccountId());
+        }
+        long startSequence = DataChangeNotifier.nextWriteSequence();
+        Connection conn = null;
+        int added = 0;
+
+        try {
+            conn = DatabaseConnection.getConnection();
+            conn.setAutoCommit(false); // Start transaction
+            Map<Integer, String> accountTypes = new AccountDAO().getAccountTypesByIds(conn, accountIds);
+
+            try (PreparedStatement insertPstmt = conn.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS);
+                 PreparedStatement balancePstmt = conn.prepareStatement(balanceSql)) {
+                for (int start = 0; start < transactions.size(); start += chunkSize) {
+                    List<Transaction> chunk = transactions.subList(start, Math.min(start + chunkSize, transactions.size()));
+                    Map<Integer, Double> balanceChanges = new HashMap<>(); // Net change per account in this chunk
+                    MonthlyRollupDAO.Changes rollups = new MonthlyRollupDAO.Changes();
+
+                    for (Transaction transaction : chunk) {
+                        insertPstmt.setInt(1, transaction.getUserId());
+                        insertPstmt.setInt(2, transaction.getAccountId());
+                        insertPstmt.setInt(3, transaction.getCategoryId());
+                        insertPstmt.setDouble(4, transaction.getAmount());
+                        insertPstmt.setString(5, transaction.getType());
+                        insertPstmt.setString(6, transaction.getDescription());
+                        insertPstmt.setDate(7, Date.valueOf(transaction.getTransactionDate()));
+                        insertPstmt.addBatch();
+
+                        double change = balanceChange(transaction.getType(), accountTypes.get(transaction.getAccountId()), transaction.getAmount(), true);
+                        balanceChanges.merge(transaction.getAccountId(), change, Double::sum);
+                        addToRollups(rollups, transaction);
+                    }
+                    insertPstmt.executeBatch();
+                    try (ResultSet generatedKeys = insertPstmt.getGeneratedKeys()) {
+                        for (int i = 0; i < chunk.size() && generatedKeys.next(); i++) {
+                            chunk.get(i).setTransactionId(generatedKeys.getInt(1));
+                        }
+                    }
+
+                    for (Map.Entry<Integer, Double> entry : balanceChanges.entrySet()) {
+                        balancePstmt.setDouble(1, entry.getValue());
+                        balancePstmt.setInt(2, entry.getKey());
+                        balancePstmt.addBatch();
+                    }
+                    balancePstmt.executeBatch();
+                    rollups.apply(conn);
+
+                    conn.commit(); // Commit this chunk
+                    added += chunk.size();
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error adding transactions in bulk after " + added + " rows: " + e.getMessage(), e);
+            if (conn != null) {
+                try {
+                    conn.rollback(); // Rollback the failed chunk
+                } catch (SQLException ex) {
+                    LOGGER.log(Level.SEVERE, "Error during rollback: " + ex.getMessage(), ex);
+                }
+            }
+        } finally {
+            try {
+                if (conn != null) conn.setAutoCommit(true); // Restore auto-commit
+                if (conn != null) conn.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.SEVERE, "Error closing resources: " + e.getMessage(), e);
+            }
+            for (int accountId : accountIds) {
+                AccountDAO.CACHE.invalidate(accountId); // The cached current_balance is now stale
+            }
+        }
+        fireTransactionsAdded(transactions.subList(0, added), startSequence);
+        return added;
+    }
+
     /**
      * Updates an existing transaction in the database.
-     * Correctly adjusts old and new account balances.
+     * Correctly adjusts old and new account balances, and moves the transaction between monthly rollups
+     * if its category, type, month or amount changed.
      *
      * @param transaction The Transaction object with updated details.
      * @param oldAmount The original amount of the transaction before editing.
@@ -103,7 +235,9 @@ public class TransactionDAO {
      * @return true if the transaction was updated successfully, false otherwise.
      */
     public boolean updateTransaction(Transaction transaction, double oldAmount, int oldAccountId, String oldType) {
+        String selectSql = "SELECT category_id, amount, type, description, transaction_date FROM transactions WHERE transaction_id = ? AND user_id = ? FOR UPDATE";
         String sql = "UPDATE transactions SET account_id = ?, category_id = ?, amount = ?, type = ?, description = ?, transaction_date = ? WHERE transaction_id = ? AND user_id = ?";
+        long startSequence = DataChangeNotifier.nextWriteSequence();
         Connection conn = null;
         PreparedStatement pstmt = null;
         boolean success = false;
@@ -112,6 +246,25 @@ public class TransactionDAO {
             conn = DatabaseConnection.getConnection();
             conn.setAutoCommit(false); // Start transaction
 
+            // The rollups are keyed by the stored category and month, which the caller does not pass in
+            MonthlyRollupDAO.Changes rollups = new MonthlyRollupDAO.Changes();
+            LocalDate oldDate;
+            DataChangeNotifier.TransactionWrite write;
+            try (PreparedStatement selectPstmt = conn.prepareStatement(selectSql)) {
+                selectPstmt.setInt(1, transaction.getTransactionId());
+                selectPstmt.setInt(2, transaction.getUserId());
+                try (ResultSet rs = selectPstmt.executeQuery()) {
+                    if (!rs.next()) {
+                        conn.rollback(); // Rollback if transaction not found
+                        return false;
+                    }
+                    oldDate = rs.getDate("transaction_date").toLocalDate();
+                    write = DataChangeNotifier.TransactionWrite.updated(rs.getString("description"), rs.getInt("category_id"), transaction, startSequence);
+                    rollups.add(transaction.getUserId(), rs.getInt("category_id"), rs.getString("type"),
+                            oldDate, -rs.getDouble("amount"), -1);
+                }
+            }
+
             // 1. Revert old balance changes from the original account
             updateAccountBalance(conn, oldAccountId, oldAmount, oldType, false); // false for reverse operation
 
@@ -130,8 +283,12 @@ public class TransactionDAO {
             if (affectedRows > 0) {
                 // 2. Apply new balance changes to the new/same account
                 updateAccountBalance(conn, transaction.getAccountId(), transaction.getAmount(), transaction.getType(), true); // true for apply operation
+                addToRollups(rollups, transaction);
+                rollups.apply(conn);
                 conn.commit(); // Commit transaction
                 success = true;
+                DataChangeNotifier.fireChanged(DataChangeNotifier.EntityType.TRANSACTION, transaction.getUserId(), oldDate, transaction.getTransactionDate());
+                DataChangeNotifier.fireTransactionsWritten(List.of(write));
             } else {
                 conn.rollback(); // Rollback if no rows affected
             }
@@ -152,26 +309,30 @@ public class TransactionDAO {
             } catch (SQLException e) {
                 LOGGER.log(Level.SEVERE, "Error closing resources: " + e.getMessage(), e);
             }
+            // Again after the commit: a read between the balance updates and the commit may have cached the old balances
+            AccountDAO.CACHE.invalidate(oldAccountId);
+            AccountDAO.CACHE.invalidate(transaction.getAccountId());
         }
         return success;
     }
 
     /**
      * Deletes a transaction from the database.
-     * Also reverts the balance change from the associated account.
+     * Also reverts the balance change from the associated account and removes it from the monthly rollups.
      *
      * @param transactionId The ID of the transaction to delete.
      * @param userId The ID of the user who owns the transaction.
      * @return true if the transaction was deleted successfully, false otherwise.
      */
     public boolean deleteTransaction(int transactionId, int userId) {
-        String selectSql = "SELECT account_id, amount, type FROM transactions WHERE transaction_id = ? AND user_id = ?";
+        String selectSql = "SELECT account_id, category_id, amount, type, transaction_date FROM transactions WHERE transaction_id = ? AND user_id = ?";
         String deleteSql = "DELETE FROM transactions WHERE transaction_id = ? AND user_id = ?";
         Connection conn = null;
         PreparedStatement selectPstmt = null;
         PreparedStatement deletePstmt = null;
         ResultSet rs = null;
         boolean success = false;
+        int accountId = 0;
 
         try {
             conn = DatabaseConnection.getConnection();
@@ -184,9 +345,12 @@ public class TransactionDAO {
             rs = selectPstmt.executeQuery();
 
             if (rs.next()) {
-                int accountId = rs.getInt("account_id");
+                accountId = rs.getInt("account_id");
                 double amount = rs.getDouble("amount");
                 String type = rs.getString("type");
+                LocalDate date = rs.getDate("transaction_date").toLocalDate();
+                MonthlyRollupDAO.Changes rollups = new MonthlyRollupDAO.Changes();
+                rollups.add(userId, rs.getInt("category_id"), type, date, -amount, -1);
 
                 // Delete the transaction
                 deletePstmt = conn.prepareStatement(deleteSql);
@@ -197,8 +361,10 @@ public class TransactionDAO {
                 if (affectedRows > 0) {
                     // Revert account balance change
                     updateAccountBalance(conn, accountId, amount, type, false); // false for reverse operation
+                    rollups.apply(conn);
                     conn.commit(); // Commit transaction
                     success = true;
+                    DataChangeNotifier.fireChanged(DataChangeNotifier.EntityType.TRANSACTION, userId, date);
                 } else {
                     conn.rollback(); // Rollback if no rows affected
                 }
@@ -224,6 +390,10 @@ public class TransactionDAO {
             } catch (SQLException e) {
                 LOGGER.log(Level.SEVERE, "Error closing resources: " + e.getMessage(), e);
             }
+            if (accountId != 0) {
+                // Again after the commit: a read between the balance update and the commit may have cached the old balance
+                AccountDAO.CACHE.invalidate(accountId);
+            }
         }
         return success;
     }
@@ -241,29 +411,102 @@ public class TransactionDAO {
     private void updateAccountBalance(Connection conn, int accountId, double amount, String type, boolean applyOperation) throws SQLException {
         String sql = "UPDATE accounts SET current_balance = current_balance + ? WHERE account_id = ?";
         try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            double balanceChange = 0;
-            // Determine the actual change based on type and operation (apply/reverse)
-            if (type.equals("Income")) {
-                balanceChange = applyOperation ? amount : -amount;
-            } else if (type.equals("Expense")) {
-                // For 'Expense', we subtract from checking/savings/cash, but add to credit card debt
-                AccountDAO accountDAO = new AccountDAO(); // Instantiate AccountDAO to use its method
-                String accountType = accountDAO.getAccountTypeById(conn, accountId); // Pass connection to avoid new one
-
-                if ("Credit Card".equalsIgnoreCase(accountType)) {
-                    // For credit card, expense increases the negative balance (e.g., -500 becomes -510)
-                    balanceChange = applyOperation ? amount : -amount;
-                } else {
-                    // For other accounts (Checking, Savings, Cash), expense decreases balance
-                    balanceChange = applyOperation ? -amount : amount;
-                }
-            }
+            // The account type only matters for expenses, so skip the lookup for income
+            String accountType = type.equals("Expense") ? new AccountDAO().getAccountTypeById(conn, accountId) : null;
+            double balanceChange = balanceChange(type, accountType, amount, applyOperation);
             pstmt.setDouble(1, balanceChange);
             pstmt.setInt(2, accountId);
             pstmt.executeUpdate();
+        } finally {
+            AccountDAO.CACHE.invalidate(accountId); // The cached current_balance is now stale
+        }
+    }
+
+    /**
+     * Reports the months touched by a bulk insert, once per user.
+     *
+     * @param added The transactions that were committed.
+     * @param startSequence The write sequence number taken before the first of them was written.
+     */
+    private static void fireTransactionsAdded(List<Transaction> added, long startSequence) {
+        Map<Integer, Set<YearMonth>> periodsByUser = new HashMap<>();
+        for (Transaction transaction : added) {
+            periodsByUser.computeIfAbsent(transaction.getUserId(), userId -> new TreeSet<>())
+                    .add(YearMonth.from(transaction.getTransactionDate()));
+        }
+        periodsByUser.forEach((userId, periods) ->
+                DataChangeNotifier.fireChanged(DataChangeNotifier.EntityType.TRANSACTION, userId, periods));
+        if (DataChangeNotifier.hasTransactionListeners()) {
+            List<DataChangeNotifier.TransactionWrite> writes = new ArrayList<>(added.size());
+            for (Transaction transaction : added) {
+                writes.add(DataChangeNotifier.TransactionWrite.inserted(transaction, startSequence));
+            }
+            DataChangeNotifier.fireTransactionsWritten(writes);
         }
     }
 
+    /**
+     * Records a new or updated transaction's contribution to its monthly rollup row.
+     *
+     * @param rollups The rollup changes of the current database transaction.
+     * @param transaction The transaction as it is being written.
+     */
+    private static void addToRollups(MonthlyRollupDAO.Changes rollups, Transaction transaction) {
+        rollups.add(transaction.getUserId(), transaction.getCategoryId(), transaction.getType(),
+                transaction.getTransactionDate(), transaction.getAmount(), 1);
+    }
+
+    /**
+     * Builds a Transaction from the current row of a "SELECT t.*, c.category_name, a.account_name" query.
+     *
+     * @param rs The result set, positioned on a row.
+     * @return The Transaction, with its category and account names set.
+     * @throws SQLException If a column cannot be read.
+     */
+    private static Transaction readJoinedTransaction(ResultSet rs) throws SQLException {
+        Transaction transaction = new Transaction(
+                rs.getInt("transaction_id"),
+                rs.getInt("user_id"),
+                rs.getInt("account_id"),
+                rs.getInt("category_id"),
+                rs.getDouble("amount"),
+                rs.getString("type"),
+                rs.getString("description"),
+                rs.getDate("transaction_date").toLocalDate(),
+                rs.getTimestamp("created_at").toLocalDateTime()
+        );
+        transaction.setCategoryName(rs.getString("category_name"));
+        transaction.setAccountName(rs.getString("account_name"));
+        return transaction;
+    }
+
+    /**
+     * Computes how much a transaction changes its account's current balance.
+     *
+     * @param type The type of the transaction ("Income" or "Expense").
+     * @param accountType The type of the account (e.g. "Checking", "Credit Card"); only used for expenses.
+     * @param amount The amount of the transaction.
+     * @param applyOperation true to apply the transaction effect, false to reverse it.
+     * @return The amount to add to the account's current balance.
+     */
+    private static double balanceChange(String type, String accountType, double amount, boolean applyOperation) {
+        double balanceChange = 0;
+        // Determine the actual change based on type and operation (apply/reverse)
+        if (type.equals("Income")) {
+            balanceChange = applyOperation ? amount : -amount;
+        } else if (type.equals("Expense")) {
+            // For 'Expense', we subtract from checking/savings/cash, but add to credit card debt
+            if ("Credit Card".equalsIgnoreCase(accountType)) {
+                // For credit card, expense increases the negative balance (e.g., -500 becomes -510)
+                balanceChange = applyOperation ? amount : -amount;
+            } else {
+                // For other accounts (Checking, Savings, Cash), expense decreases balance
+                balanceChange = applyOperation ? -amount : amount;
+            }
+        }
+        return balanceChange;
+    }
+
 
     /**
      * Retrieves a specific transaction by its ID and user ID.
@@ -347,8 +590,58 @@ public class TransactionDAO {
         return transactions;
     }
 
+    static String transactionsPageSql(boolean afterCursor) {
+        return "SELECT t.*, c.category_name, a.account_name " +
+                "FROM transactions t " +
+                "JOIN categories c ON t.category_id = c.category_id " +
+                "JOIN accounts a ON t.account_id = a.account_id " +
+                "WHERE t.user_id = ? " +
+                (afterCursor
+                        ? "AND (t.transaction_date < ? OR (t.transaction_date = ? AND t.transaction_id < ?)) "
+                        : "") +
+                "ORDER BY t.transaction_date DESC, t.transaction_id DESC " +
+                "LIMIT ?";
+    }
+
+    /**
+     * Retrieves one page of a user's transactions using keyset pagination, newest first.
+     * Rows are ordered by (transaction_date DESC, transaction_id DESC); the next page starts strictly
+     * after the given (afterDate, afterId) position, so the cost of a page does not grow with its depth.
+     *
+     * @param userId The ID of the user whose transactions to retrieve.
+     * @param afterDate The transaction date of the last row of the previous page, or null for the first page.
+     * @param afterId The transaction ID of the last row of the previous page (ignored for the first page).
+     * @param limit The maximum number of rows to return.
+     * @return A list of at most {@code limit} Transaction objects.
+     */
+    public List<Transaction> getTransactionsPage(int userId, LocalDate afterDate, int afterId, int limit) {
+        List<Transaction> transactions = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(transactionsPageSql(afterDate != null))) {
+            int index = 1;
+            pstmt.setInt(index++, userId);
+            if (afterDate != null) {
+                Date cursorDate = Date.valueOf(afterDate);
+                pstmt.setDate(index++, cursorDate);
+                pstmt.setDate(index++, cursorDate);
+                pstmt.setInt(index++, afterId);
+            }
+            pstmt.setInt(index, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    transactions.add(readJoinedTransaction(rs));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error getting transactions page for user ID: " + e.getMessage(), e);
+        }
+        return transactions;
+    }
+
     /**
      * Retrieves all transactions in the database (for admin view).
+     * This loads the whole table into memory; use {@link #forEachTransaction(Consumer)} or
+     * {@link #getAllTransactionsPage(LocalDate, int, int)} for large databases.
      *
      * @return A list of all Transaction objects.
      */
@@ -384,6 +677,188 @@ public class TransactionDAO {
         return transactions;
     }
 
+    static String allTransactionsPageSql(boolean afterCursor) {
+        return "SELECT t.*, c.category_name, a.account_name " +
+                "FROM transactions t " +
+                "JOIN categories c ON t.category_id = c.category_id " +
+                "JOIN accounts a ON t.account_id = a.account_id " +
+                (afterCursor
+                        ? "WHERE (t.transaction_date < ? OR (t.transaction_date = ? AND t.transaction_id < ?)) "
+                        : "") +
+                "ORDER BY t.transaction_date DESC, t.transaction_id DESC " +
+                "LIMIT ?";
+    }
+
+    /**
+     * Retrieves one page of all users' transactions (for admin view) using keyset pagination, newest first.
+     * Works like {@link #getTransactionsPage(int, LocalDate, int, int)} without the user filter.
+     *
+     * @param afterDate The transaction date of the last row of the previous page, or null for the first page.
+     * @param afterId The transaction ID of the last row of the previous page (ignored for the first page).
+     * @param limit The maximum number of rows to return.
+     * @return A list of at most {@code limit} Transaction objects.
+     */
+    public List<Transaction> getAllTransactionsPage(LocalDate afterDate, int afterId, int limit) {
+        List<Transaction> transactions = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(allTransactionsPageSql(afterDate != null))) {
+            int index = 1;
+            if (afterDate != null) {
+                Date cursorDate = Date.valueOf(afterDate);
+                pstmt.setDate(index++, cursorDate);
+                pstmt.setDate(index++, cursorDate);
+                pstmt.setInt(index++, afterId);
+            }
+            pstmt.setInt(index, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    transactions.add(readJoinedTransaction(rs));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error getting page of all transactions: " + e.getMessage(), e);
+        }
+        return transactions;
+    }
+
+    /**
+     * Streams every transaction in the database (for admin exports) to the given consumer, in transaction ID order.
+     * <p>
+     * Unlike {@link #getAllTransactions()}, nothing is collected: the statement is forward-only and read-only with
+     * MySQL's streaming fetch (fetch size {@code Integer.MIN_VALUE}), so the driver reads rows from the server one
+     * at a time and memory use stays constant however many rows there are. The consumer runs while the result set
+     * is open, so it must not query through the same connection (e.g. DAO calls inside a UnitOfWork open on this
+     * thread) and a slow consumer keeps the connection busy. An exception thrown by the consumer stops the
+     * iteration and is passed on to the caller.
+     *
+     * @param consumer Receives each transaction, with its category and account names set.
+     * @return The number of transactions passed to the consumer, or -1 if a database error occurred.
+     */
+    public long forEachTransaction(Consumer<Transaction> consumer) {
+        String sql = "SELECT t.*, c.category_name, a.account_name " +
+                "FROM transactions t " +
+                "JOIN categories c ON t.category_id = c.category_id " +
+                "JOIN accounts a ON t.account_id = a.account_id " +
+                "ORDER BY t.transaction_id";
+        long count = 0;
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(Integer.MIN_VALUE); // MySQL Connector/J: stream rows instead of buffering the whole result
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    consumer.accept(readJoinedTransaction(rs));
+                    count++;
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error streaming all transactions after " + count + " rows: " + e.getMessage(), e);
+            return -1;
+        }
+        return count;
+    }
+
+    /**
+     * Streams the description and category name of each of a user's transactions that has a description,
+     * e.g. to train the category classifier on the user's own labels. Rows are streamed as in
+     * {@link #forEachTransaction(Consumer)}, with the same restrictions on the consumer.
+     *
+     * @param userId The ID of the user.
+     * @param consumer Receives each description and its category name.
+     * @return The number of rows passed to the consumer, or -1 if a database error occurred.
+     */
+    public long forEachLabelledDescription(int userId, BiConsumer<String, String> consumer) {
+        String sql = "SELECT t.description, c.category_name " +
+                "FROM transactions t " +
+                "JOIN categories c ON t.category_id = c.category_id " +
+                "WHERE t.user_id = ? AND t.description IS NOT NULL AND t.description <> ''";
+        long count = 0;
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            pstmt.setFetchSize(Integer.MIN_VALUE); // MySQL Connector/J: stream rows instead of buffering the whole result
+            pstmt.setInt(1, userId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(rs.getString("description"), rs.getString("category_name"));
+                    count++;
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error streaming labelled descriptions for user " + userId + " after " + count + " rows: " + e.getMessage(), e);
+            return -1;
+        }
+        return count;
+    }
+
+    static final String GLOBAL_TOTALS_SQL = "SELECT type, COUNT(*) AS transaction_count, COALESCE(SUM(amount), 0) AS total_amount " +
+            "FROM transactions GROUP BY type";
+
+    /**
+     * Computes application-wide statistics (for admin view) in the database: the number of users,
+     * and the number and sum of transactions per type. Only a handful of rows come back, however many
+     * transactions exist.
+     *
+     * @return The global statistics, or all zeros if they could not be computed.
+     */
+    public GlobalStatistics getGlobalStatistics() {
+        String usersSql = "SELECT COUNT(*) AS user_count FROM users";
+        int userCount = 0;
+        long transactionCount = 0;
+        double totalIncome = 0.0;
+        double totalExpenses = 0.0;
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery(usersSql)) {
+                if (rs.next()) {
+                    userCount = rs.getInt("user_count");
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery(GLOBAL_TOTALS_SQL)) {
+                while (rs.next()) {
+                    transactionCount += rs.getLong("transaction_count");
+                    if ("Income".equals(rs.getString("type"))) {
+                        totalIncome = rs.getDouble("total_amount");
+                    } else if ("Expense".equals(rs.getString("type"))) {
+                        totalExpenses = rs.getDouble("total_amount");
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error getting global statistics: " + e.getMessage(), e);
+        }
+        return new GlobalStatistics(userCount, transactionCount, totalIncome, totalExpenses);
+    }
+
+    static final String TOP_EXPENSE_CATEGORIES_SQL = "SELECT c.category_name, SUM(t.amount) AS total_expense " +
+            "FROM transactions t " +
+            "JOIN categories c ON t.category_id = c.category_id " +
+            "WHERE t.type = 'Expense' " +
+            "GROUP BY c.category_name " +
+            "ORDER BY total_expense DESC " +
+            "LIMIT ?";
+
+    /**
+     * Retrieves the expense categories with the highest total spending across all users (for admin view).
+     * Categories of different users that share a name are counted together.
+     *
+     * @param limit The maximum number of categories to return.
+     * @return A map of category name to total expense, largest first.
+     */
+    public Map<String, Double> getTopExpenseCategories(int limit) {
+        Map<String, Double> topCategories = new LinkedHashMap<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(TOP_EXPENSE_CATEGORIES_SQL)) {
+            pstmt.setInt(1, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    topCategories.put(rs.getString("category_name"), rs.getDouble("total_expense"));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error getting top expense categories: " + e.getMessage(), e);
+        }
+        return topCategories;
+    }
+
     /**
      * Retrieves all transactions linked to a specific category ID.
      * Used for category deletion validation.
@@ -436,6 +911,12 @@ public class TransactionDAO {
 
     // --- Methods for Dashboard Summary and Charts ---
 
+    // Monthly totals and charts read the monthly_rollups table (see MonthlyRollupDAO), which the write methods
+    // above keep in step with the transactions, so they cost O(categories x months) instead of O(transactions).
+    // Daily totals still come from the transactions table.
+
+    static final String TOTAL_INCOME_FOR_MONTH_SQL = "SELECT COALESCE(SUM(total), 0) FROM monthly_rollups WHERE user_id = ? AND type = 'Income' AND year = ? AND month = ?";
+
     /**
      * Calculates the total income for a given user, month, and year.
      *
@@ -445,13 +926,12 @@ public class TransactionDAO {
      * @return The total income.
      */
     public double getTotalIncomeForMonth(int userId, int month, int year) {
-        String sql = "SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE user_id = ? AND type = 'Income' AND MONTH(transaction_date) = ? AND YEAR(transaction_date) = ?";
         double totalIncome = 0;
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(TOTAL_INCOME_FOR_MONTH_SQL)) {
             pstmt.setInt(1, userId);
-            pstmt.setInt(2, month);
-            pstmt.setInt(3, year);
+            pstmt.setInt(2, year);
+            pstmt.setInt(3, month);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
                     totalIncome = rs.getDouble(1);
@@ -463,6 +943,8 @@ public class TransactionDAO {
         return totalIncome;
     }
 
+    static final String TOTAL_EXPENSES_FOR_MONTH_SQL = "SELECT COALESCE(SUM(total), 0) FROM monthly_rollups WHERE user_id = ? AND type = 'Expense' AND year = ? AND month = ?";
+
     /**
      * Calculates the total expenses for a given user, month, and year.
      *
@@ -472,13 +954,12 @@ public class TransactionDAO {
      * @return The total expenses.
      */
     public double getTotalExpensesForMonth(int userId, int month, int year) {
-        String sql = "SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE user_id = ? AND type = 'Expense' AND MONTH(transaction_date) = ? AND YEAR(transaction_date) = ?";
         double totalExpenses = 0;
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(TOTAL_EXPENSES_FOR_MONTH_SQL)) {
             pstmt.setInt(1, userId);
-            pstmt.setInt(2, month);
-            pstmt.setInt(3, year);
+            pstmt.setInt(2, year);
+            pstmt.setInt(3, month);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
                     totalExpenses = rs.getDouble(1);
@@ -490,6 +971,9 @@ public class TransactionDAO {
         return totalExpenses;
     }
 
+    static final String CATEGORY_EXPENSE_FOR_MONTH_SQL = "SELECT COALESCE(SUM(total), 0) FROM monthly_rollups " +
+            "WHERE user_id = ? AND category_id = ? AND type = 'Expense' AND year = ? AND month = ?";
+
     /**
      * Calculates the total expenses for a given category, month, and year for a specific user.
      * Used for budget tracking.
@@ -501,16 +985,13 @@ public class TransactionDAO {
      * @return The total expenses for that category, month, and year.
      */
     public double getTotalExpenseForCategoryMonthYear(int userId, int categoryId, int month, int year) {
-        String sql = "SELECT COALESCE(SUM(t.amount), 0) FROM transactions t " +
-                "WHERE t.user_id = ? AND t.category_id = ? AND t.type = 'Expense' " +
-                "AND MONTH(t.transaction_date) = ? AND YEAR(t.transaction_date) = ?";
         double totalSpent = 0;
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(CATEGORY_EXPENSE_FOR_MONTH_SQL)) {
             pstmt.setInt(1, userId);
             pstmt.setInt(2, categoryId);
-            pstmt.setInt(3, month);
-            pstmt.setInt(4, year);
+            pstmt.setInt(3, year);
+            pstmt.setInt(4, month);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
                     totalSpent = rs.getDouble(1);
@@ -522,6 +1003,15 @@ public class TransactionDAO {
         return totalSpent;
     }
 
+    static final String EXPENSE_CATEGORIES_BREAKDOWN_SQL = "SELECT c.category_name, SUM(r.total) AS total_amount " +
+            "FROM monthly_rollups r " +
+            "JOIN categories c ON c.category_id = r.category_id " +
+            "AND c.user_id = r.user_id " + // Ensure categories belong to the same user
+            "WHERE r.user_id = ? AND r.type = 'Expense' AND r.year = ? AND r.month = ? " +
+            "AND c.category_type = 'Expense' " +
+            "GROUP BY c.category_name " +
+            "HAVING SUM(r.total) > 0"; // Only include categories with positive expenses
+
     /**
      * Retrieves the breakdown of expenses by category for a specific user
      * for the current month.
@@ -536,21 +1026,11 @@ public class TransactionDAO {
         int currentMonth = now.getMonthValue();
         int currentYear = now.getYear();
 
-        String sql = "SELECT c.category_name, COALESCE(SUM(t.amount), 0) AS total_amount " +
-                "FROM categories c " +
-                "LEFT JOIN transactions t ON c.category_id = t.category_id " +
-                "AND t.user_id = c.user_id " + // Ensure transactions belong to the same user
-                "AND t.type = 'Expense' " +
-                "AND MONTH(t.transaction_date) = ? " +
-                "AND YEAR(t.transaction_date) = ? " +
-                "WHERE c.user_id = ? AND c.category_type = 'Expense' " +
-                "GROUP BY c.category_name " +
-                "HAVING COALESCE(SUM(t.amount), 0) > 0"; // Only include categories with positive expenses
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, currentMonth);
+             PreparedStatement pstmt = conn.prepareStatement(EXPENSE_CATEGORIES_BREAKDOWN_SQL)) {
+            pstmt.setInt(1, userId);
             pstmt.setInt(2, currentYear);
-            pstmt.setInt(3, userId);
+            pstmt.setInt(3, currentMonth);
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
                     breakdown.put(rs.getString("category_name"), rs.getDouble("total_amount"));
@@ -563,29 +1043,34 @@ public class TransactionDAO {
     }
 
 
+    static final String MONTHLY_EXPENSES_SQL = "SELECT year, month, SUM(total) AS total_expense " +
+            "FROM monthly_rollups " +
+            "WHERE user_id = ? AND type = 'Expense' " +
+            "AND (year > ? OR (year = ? AND month >= ?)) " +
+            "GROUP BY year, month";
+
     /**
      * Retrieves total expenses for the last 6 months for a given user.
-     * Used for the Bar Chart.
+     * Used for the Bar Chart. The oldest month is the one six months before the current one, counted in full.
      *
      * @param userId The ID of the user.
      * @return A map where keys are "YYYY-MM" strings and values are total expense amounts.
      */
     public Map<String, Double> getMonthlyExpenses(int userId) {
         Map<String, Double> monthlyExpenses = new HashMap<>();
-        // Query to get expenses grouped by YYYY-MM for the last 6 months
-        String sql = "SELECT DATE_FORMAT(transaction_date, '%Y-%m') AS month_year, COALESCE(SUM(amount), 0) AS total_expense " +
-                "FROM transactions " +
-                "WHERE user_id = ? AND type = 'Expense' " +
-                "AND transaction_date >= DATE_SUB(CURDATE(), INTERVAL 6 MONTH) " + // Get data from last 6 months including current partial month
-                "GROUP BY month_year " +
-                "ORDER BY month_year ASC"; // Order chronologically
+        LocalDate firstMonth = LocalDate.now().minusMonths(6);
+        // Query to get expenses grouped by month for the last 6 months, including the current partial month
 
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(MONTHLY_EXPENSES_SQL)) {
             pstmt.setInt(1, userId);
+            pstmt.setInt(2, firstMonth.getYear());
+            pstmt.setInt(3, firstMonth.getYear());
+            pstmt.setInt(4, firstMonth.getMonthValue());
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    monthlyExpenses.put(rs.getString("month_year"), rs.getDouble("total_expense"));
+                    String monthYear = String.format("%04d-%02d", rs.getInt("year"), rs.getInt("month"));
+                    monthlyExpenses.put(monthYear, rs.getDouble("total_expense"));
                 }
             }
         } catch (SQLException e) {
@@ -595,6 +1080,126 @@ public class TransactionDAO {
     }
 
 
+    static String dailyExpenseTotalsSql(boolean fromBound, boolean toBound) {
+        StringBuilder sql = new StringBuilder("SELECT transaction_date, SUM(amount) AS total_expense " +
+                "FROM transactions " +
+                "WHERE user_id = ? AND type = 'Expense' ");
+        if (fromBound) {
+            sql.append("AND transaction_date >= ? ");
+        }
+        if (toBound) {
+            sql.append("AND transaction_date < ? "); // Half-open: day after 'to'
+        }
+        sql.append("GROUP BY transaction_date ORDER BY transaction_date ASC");
+        return sql.toString();
+    }
+
+    /**
+     * Retrieves total expenses per day for a given user within a date window, aggregated in SQL.
+     * Used for the expense trend Line Chart, so the amount of data transferred depends on the
+     * number of days in the window rather than on the number of transactions.
+     *
+     * @param userId The ID of the user.
+     * @param from The first day of the window (inclusive), or null for no lower bound.
+     * @param to The last day of the window (inclusive), or null for no upper bound.
+     * @return A map sorted by date, where values are the total expense amounts for that day.
+     */
+    public Map<LocalDate, Double> getDailyExpenseTotals(int userId, LocalDate from, LocalDate to) {
+        Map<LocalDate, Double> dailyExpenses = new TreeMap<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(dailyExpenseTotalsSql(from != null, to != null))) {
+            int index = 1;
+            pstmt.setInt(index++, userId);
+            if (from != null) {
+                pstmt.setDate(index++, Date.valueOf(from));
+            }
+            if (to != null) {
+                pstmt.setDate(index, Date.valueOf(to.plusDays(1)));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    dailyExpenses.put(rs.getDate("transaction_date").toLocalDate(), rs.getDouble("total_expense"));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error getting daily expense totals: " + e.getMessage(), e);
+        }
+        return dailyExpenses;
+    }
+
+    static final String MONTHLY_EXPENSE_MATRIX_SQL = "SELECT category_id, year AS yr, month AS mon, total AS total_expense " +
+            "FROM monthly_rollups " +
+            "WHERE user_id = ? AND type = 'Expense' " +
+            "AND (year > ? OR (year = ? AND month >= ?)) " +
+            "AND (year < ? OR (year = ? AND month <= ?))";
+
+    /**
+     * Retrieves monthly expense totals for several categories over the last N calendar months
+     * in one grouped query. Used for Weka prediction across all expense categories at once.
+     * <p>
+     * The window covers the current month and the {@code monthsBack - 1} months before it; totals come from the
+     * monthly rollups, so the current month also counts expenses dated later this month.
+     * Row {@code i} of the result belongs to {@code categoryIds[i]}; column {@code j} runs from the oldest
+     * month ({@code 0}) to the current month ({@code monthsBack - 1}). Months without expenses are zero.
+     *
+     * @param userId The ID of the user.
+     * @param categoryIds The IDs of the categories to include, in the order the rows should have.
+     * @param monthsBack The number of months to retrieve (e.g., 3 for the last 3 months).
+     * @return A {@code categoryIds.length x monthsBack} matrix of monthly spending amounts.
+     */
+    public double[][] getMonthlyExpenseMatrix(int userId, int[] categoryIds, int monthsBack) {
+        double[][] matrix = new double[categoryIds.length][monthsBack];
+        if (categoryIds.length == 0 || monthsBack <= 0) {
+            return matrix;
+        }
+
+        // Map category ID -> row index once, so each result row is placed in O(1)
+        Map<Integer, Integer> rowByCategory = new HashMap<>();
+        for (int i = 0; i < categoryIds.length; i++) {
+            rowByCategory.put(categoryIds[i], i);
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate firstMonth = today.withDayOfMonth(1).minusMonths(monthsBack - 1);
+        int firstMonthIndex = firstMonth.getYear() * 12 + firstMonth.getMonthValue() - 1;
+
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(MONTHLY_EXPENSE_MATRIX_SQL)) {
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, firstMonth.getYear());
+            pstmt.setInt(3, firstMonth.getYear());
+            pstmt.setInt(4, firstMonth.getMonthValue());
+            pstmt.setInt(5, today.getYear());
+            pstmt.setInt(6, today.getYear());
+            pstmt.setInt(7, today.getMonthValue());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Integer row = rowByCategory.get(rs.getInt("category_id"));
+                    if (row == null) {
+                        continue; // Category not requested
+                    }
+                    int column = rs.getInt("yr") * 12 + rs.getInt("mon") - 1 - firstMonthIndex;
+                    if (column >= 0 && column < monthsBack) {
+                        matrix[row][column] = rs.getDouble("total_expense");
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error getting monthly expense matrix: " + e.getMessage(), e);
+        }
+        return matrix;
+    }
+
+    // Query to get expenses for the given category for the last 'monthsBack' months
+    static final String HISTORICAL_CATEGORY_SPENDING_SQL = "SELECT COALESCE(SUM(amount), 0) AS total_expense " +
+            "FROM transactions " +
+            "WHERE user_id = ? AND category_id = ? AND type = 'Expense' " +
+            "AND transaction_date <= CURDATE() " + // Only up to current date
+            "AND transaction_date >= DATE_SUB(CURDATE(), INTERVAL ? MONTH) " + // Go back 'monthsBack' months
+            "GROUP BY YEAR(transaction_date), MONTH(transaction_date) " +
+            "ORDER BY YEAR(transaction_date) ASC, MONTH(transaction_date) ASC"; // Oldest to most recent
+
     /**
      * Retrieves historical monthly spending for a specific category for the last N months.
      * Used for Weka prediction. The list is ordered from oldest to most recent.
@@ -606,17 +1211,9 @@ public class TransactionDAO {
      */
     public List<Double> getHistoricalMonthlySpendingForCategory(int userId, int categoryId, int monthsBack) {
         List<Double> historicalData = new ArrayList<>();
-        // Query to get expenses for the given category for the last 'monthsBack' months
-        String sql = "SELECT COALESCE(SUM(amount), 0) AS total_expense " +
-                "FROM transactions " +
-                "WHERE user_id = ? AND category_id = ? AND type = 'Expense' " +
-                "AND transaction_date <= CURDATE() " + // Only up to current date
-                "AND transaction_date >= DATE_SUB(CURDATE(), INTERVAL ? MONTH) " + // Go back 'monthsBack' months
-                "GROUP BY YEAR(transaction_date), MONTH(transaction_date) " +
-                "ORDER BY YEAR(transaction_date) ASC, MONTH(transaction_date) ASC"; // Oldest to most recent
 
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(HISTORICAL_CATEGORY_SPENDING_SQL)) {
             pstmt.setInt(1, userId);
             pstmt.setInt(2, categoryId);
             pstmt.setInt(3, monthsBack); // Parameter for INTERVAL
@@ -0,0 +1,262 @@
+// src/main/java/com/financeapp/dao/UnitOfWork.java
+package com.financeapp.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Callable;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A scoped unit of work that makes a group of DAO calls share one connection and one transaction.
+ * <p>
+ * While a unit is open on the current thread, {@link DatabaseConnection#getConnection()} hands every DAO
+ * the unit's connection instead of borrowing a new one from the pool. The connection runs at
+ * REPEATABLE READ with a consistent snapshot taken when the unit begins, so all reads inside the unit
+ * see the same data. DAO write methods join the unit as well: their own commit, setAutoCommit and close
+ * calls are ignored, and a rollback marks the whole unit rollback-only.
+ * <p>
+ * Usage:
+ * <pre>
+ * List&lt;Budget&gt; budgets = UnitOfWork.runReadOnly(() -&gt; {
+ *     double income = transactionDAO.getTotalIncomeForMonth(userId, month, year);
+ *     return budgetDAO.getBudgetsByUserId(userId);
+ * });
+ * </pre>
+ * Units are bound to the thread that opened them and must be closed on that same thread.
+ */
+public class UnitOfWork implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(UnitOfWork.class.getName());
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    private final Connection connection; // The pooled connection owned by this unit
+    private final Connection scopedConnection; // View handed to DAOs while the unit is open
+    private final boolean readOnly;
+    private final UnitOfWork joined; // Non-null if this handle joined an already open unit
+    private final long cacheGeneration; // EntityCache generation when the unit began, before its snapshot
+
+    private boolean rollbackOnly;
+    private boolean completed;
+
+    private UnitOfWork(Connection connection, boolean readOnly, long cacheGeneration) {
+        this.connection = connection;
+        this.readOnly = readOnly;
+        this.joined = null;
+        this.cacheGeneration = cacheGeneration;
+        this.scopedConnection = createScopedConnection();
+    }
+
+    private UnitOfWork(UnitOfWork outer) {
+        this.connection = outer.connection;
+        this.readOnly = outer.readOnly;
+        this.joined = outer;
+        this.cacheGeneration = outer.cacheGeneration;
+        this.scopedConnection = outer.scopedConnection;
+    }
+
+    /**
+     * Opens a read-only unit of work on the current thread. All DAO reads until {@link #close()}
+     * share one connection and one consistent snapshot.
+     *
+     * @return The open unit of work.
+     * @throws SQLException If no connection could be obtained or the transaction could not be started.
+     */
+    public static UnitOfWork beginReadOnly() throws SQLException {
+        return begin(true);
+    }
+
+    /**
+     * Opens a read-write unit of work on the current thread. DAO writes join the unit and are
+     * committed together by {@link #commit()}; anything not committed is rolled back on close.
+     *
+     * @return The open unit of work.
+     * @throws SQLException If no connection could be obtained or the transaction could not be started.
+     */
+    public static UnitOfWork begin() throws SQLException {
+        return begin(false);
+    }
+
+    /**
+     * Runs the given work inside a read-only unit of work on the current thread and closes the unit afterwards.
+     *
+     * @param work The DAO reads to run.
+     * @param <T> The type of the work's result.
+     * @return The work's result.
+     * @throws Exception If the unit could not be opened, or whatever the work throws.
+     */
+    public static <T> T runReadOnly(Callable<T> work) throws Exception {
+        UnitOfWork unit = beginReadOnly();
+        try {
+            return work.call();
+        } finally {
+            unit.close();
+        }
+    }
+
+    private static UnitOfWork begin(boolean readOnly) throws SQLException {
+        UnitOfWork outer = CURRENT.get();
+        if (outer != null) {
+            if (outer.readOnly && !readOnly) {
+                throw new IllegalStateException("Cannot join a read-only unit of work for writing.");
+            }
+            return new UnitOfWork(outer); // Nested scopes join the outermost unit
+        }
+
+        // Taken before the snapshot, so rows read in the unit are never newer than this generation
+        long cacheGeneration = EntityCache.currentGeneration();
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) {
+            throw new SQLException("Could not obtain a database connection for the unit of work.");
+        }
+        try {
+            conn.setAutoCommit(false);
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            conn.setReadOnly(readOnly);
+            try (Statement stmt = conn.createStatement()) {
+                // Take the snapshot now rather than at the first read, so every query in the unit agrees
+                stmt.execute("START TRANSACTION WITH CONSISTENT SNAPSHOT");
+            }
+        } catch (SQLException e) {
+            DatabaseConnection.closeConnection(conn);
+            throw e;
+        }
+
+        UnitOfWork unit = new UnitOfWork(conn, readOnly, cacheGeneration);
+        CURRENT.set(unit);
+        return unit;
+    }
+
+    /**
+     * Returns the unit of work open on the current thread, if any.
+     *
+     * @return The current unit, or null if none is open.
+     */
+    static UnitOfWork current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Returns the connection DAOs should use while this unit is open.
+     * Closing it, committing it or toggling auto-commit has no effect on the unit.
+     */
+    Connection getScopedConnection() {
+        return scopedConnection;
+    }
+
+    /**
+     * @return The entity cache generation from when the unit began; see {@link EntityCache#generationBeforeLoad()}.
+     */
+    long getCacheGeneration() {
+        return cacheGeneration;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Marks the unit so that it is rolled back instead of committed.
+     */
+    public void setRollbackOnly() {
+        if (joined != null) {
+            joined.setRollbackOnly();
+        } else {
+            rollbackOnly = true;
+        }
+    }
+
+    /**
+     * Commits all work done inside the unit. For a joined (nested) handle this is a no-op;
+     * the outermost unit decides.
+     *
+     * @throws SQLException If the unit was marked rollback-only or the commit fails.
+     */
+    public void commit() throws SQLException {
+        if (joined != null) {
+            return;
+        }
+        if (completed) {
+            throw new IllegalStateException("Unit of work has already been completed.");
+        }
+        if (rollbackOnly) {
+            rollbackQuietly();
+            throw new SQLException("Unit of work was marked rollback-only and has been rolled back.");
+        }
+        connection.commit();
+        completed = true;
+    }
+
+    /**
+     * Ends the unit. Uncommitted work is rolled back and the connection goes back to the pool.
+     */
+    @Override
+    public void close() {
+        if (joined != null) {
+            return;
+        }
+        try {
+            if (!completed) {
+                rollbackQuietly();
+            }
+        } finally {
+            completed = true;
+            CURRENT.remove();
+            DatabaseConnection.closeConnection(connection);
+        }
+    }
+
+    private void rollbackQuietly() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Error rolling back unit of work: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Builds the connection view handed to DAOs: transaction boundaries belong to the unit,
+     * everything else is delegated to the real connection.
+     */
+    private Connection createScopedConnection() {
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                case "commit":
+                case "setAutoCommit":
+                case "setTransactionIsolation":
+                case "setReadOnly":
+                    return null; // Owned by the unit
+                case "rollback":
+                    if (args == null || args.length == 0) {
+                        setRollbackOnly(); // A failed DAO write poisons the whole unit
+                        return null;
+                    }
+                    break;
+                case "getAutoCommit":
+                    return false;
+                case "isClosed":
+                    return completed || connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "UnitOfWorkConnection[" + connection + "]";
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                UnitOfWork.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+}
@@ -19,6 +19,9 @@ public class UserDAO {
 
     private static final Logger LOGGER = Logger.getLogger(UserDAO.class.getName());
 
+    // Users by ID, shared by all UserDAO instances and invalidated by the write methods below
+    static final EntityCache<User> CACHE = new EntityCache<>("users");
+
     /**
      * Registers a new user in the database.
      * Passwords are hashed and salted before storage.
@@ -122,10 +125,16 @@ public class UserDAO {
     /**
      * Retrieves a user from the database by their user ID.
      *
+     * Served from the shared cache when possible.
+     *
      * @param userId The user ID to search for.
      * @return The User object if found, null otherwise.
      */
     public User getUserByUserId(int userId) {
+        return CACHE.get(userId, this::loadUserByUserId);
+    }
+
+    private User loadUserByUserId(int userId) {
         String sql = "SELECT user_id, username, password_hash, password_salt, is_admin, created_at FROM users WHERE user_id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -158,20 +167,23 @@ public class UserDAO {
      */
     public List<User> getAllUsers() {
         List<User> users = new ArrayList<>();
+        long generationBeforeLoad = EntityCache.generationBeforeLoad(); // Before the query, see EntityCache#put
         String sql = "SELECT user_id, username, password_hash, password_salt, is_admin, created_at FROM users";
         try (Connection conn = DatabaseConnection.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
-                users.add(new User(
+                User user = new User(
                         rs.getInt("user_id"),
                         rs.getString("username"),
                         rs.getString("password_hash"),
                         rs.getString("password_salt"),
                         rs.getBoolean("is_admin"),
                         rs.getTimestamp("created_at").toLocalDateTime()
-                ));
+                );
+                users.add(user);
+                CACHE.put(user.getUserId(), user, generationBeforeLoad);
             }
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error retrieving all users", e);
@@ -199,6 +211,11 @@ public class UserDAO {
             }
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error deleting user with ID " + userId, e);
+        } finally {
+            CACHE.invalidate(userId);
+            // The user's accounts and categories are removed by ON DELETE CASCADE
+            AccountDAO.CACHE.invalidateIf(account -> account.getUserId() == userId);
+            CategoryDAO.CACHE.invalidateIf(category -> category.getUserId() == userId);
         }
         return false;
     }
@@ -226,6 +243,8 @@ public class UserDAO {
             }
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error updating user with ID " + user.getUserId(), e);
+        } finally {
+            CACHE.invalidate(user.getUserId());
         }
         return false;
     }
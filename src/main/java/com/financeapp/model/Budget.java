@@ -15,6 +15,7 @@ public class Budget {
     private int month;
     private int year;
     private LocalDateTime createdAt;
+    private double amountSpent; // Convenience field, filled by BudgetDAO.getBudgetsWithSpentByUserId
 
     // Constructor for adding new budgets (without ID, createdAt)
     public Budget(int userId, int categoryId, double amountLimit, int month, int year) {
@@ -69,6 +70,10 @@ public class Budget {
         return createdAt;
     }
 
+    public double getAmountSpent() {
+        return amountSpent; // Only populated when loaded together with spending
+    }
+
     // Setters (for updates)
     public void setBudgetId(int budgetId) {
         this.budgetId = budgetId;
@@ -101,4 +106,8 @@ public class Budget {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public void setAmountSpent(double amountSpent) {
+        this.amountSpent = amountSpent;
+    }
 }
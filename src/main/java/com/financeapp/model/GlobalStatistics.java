@@ -0,0 +1,42 @@
+// src/main/java/com/financeapp/model/GlobalStatistics.java
+package com.financeapp.model;
+
+/**
+ * Application-wide totals shown on the admin dashboard, computed by the database.
+ */
+public class GlobalStatistics {
+    private final int userCount;
+    private final long transactionCount;
+    private final double totalIncome;
+    private final double totalExpenses;
+
+    public GlobalStatistics(int userCount, long transactionCount, double totalIncome, double totalExpenses) {
+        this.userCount = userCount;
+        this.transactionCount = transactionCount;
+        this.totalIncome = totalIncome;
+        this.totalExpenses = totalExpenses;
+    }
+
+    public int getUserCount() {
+        return userCount;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public double getTotalIncome() {
+        return totalIncome;
+    }
+
+    public double getTotalExpenses() {
+        return totalExpenses;
+    }
+
+    /**
+     * @return The average number of transactions per registered user, or 0 if there are no users.
+     */
+    public double getAverageTransactionsPerUser() {
+        return userCount > 0 ? (double) transactionCount / userCount : 0.0;
+    }
+}
@@ -0,0 +1,64 @@
+// src/main/java/com/financeapp/utils/BackgroundExecutor.java
+package com.financeapp.utils;
+
+import javafx.concurrent.Task;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared executor for work that must not run on the JavaFX application thread
+ * (database loads, model predictions). Threads are daemons so they never keep the application alive.
+ */
+public class BackgroundExecutor {
+
+    // Enough for the dashboard panels (summary, charts, predictions, table) to load side by side
+    private static final int THREAD_COUNT = 4;
+
+    private static final ExecutorService EXECUTOR =
+            Executors.newFixedThreadPool(THREAD_COUNT, daemonThreadFactory("ui-background"));
+
+    /**
+     * Private constructor to prevent instantiation, as this is a utility class with static methods.
+     */
+    private BackgroundExecutor() {
+        // Private constructor
+    }
+
+    /**
+     * Starts the given JavaFX Task on a background thread.
+     * The Task's onSucceeded/onFailed handlers are still invoked on the JavaFX application thread.
+     *
+     * @param task The task to run.
+     * @param <T> The task's result type.
+     * @return The same task, for chaining or later cancellation.
+     */
+    public static <T> Task<T> submit(Task<T> task) {
+        EXECUTOR.execute(task);
+        return task;
+    }
+
+    /**
+     * Creates a thread factory producing named daemon threads.
+     *
+     * @param namePrefix Prefix for thread names, e.g. "ui-background".
+     * @return A ThreadFactory for daemon threads.
+     */
+    public static ThreadFactory daemonThreadFactory(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Stops accepting new work and interrupts running tasks. Called when the application exits.
+     */
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+}
@@ -0,0 +1,122 @@
+// src/main/java/com/financeapp/utils/CategoryModelBundle.java
+package com.financeapp.utils;
+
+import weka.core.Instances;
+import weka.filters.unsupervised.attribute.StringToWordVector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * What the category classifier needs besides the model itself to classify a description: the raw dataset
+ * header and, for a classifier that does not filter its own input, the fitted StringToWordVector.
+ * <p>
+ * Building these from {@code category_classifier.arff} means parsing every labelled description, so the result
+ * is serialized to the user's cache directory and reused on the next start. A bundle is only used for the model
+ * it was built for (identified by the CRC-32 of the model file) and for the current bundle format.
+ */
+final class CategoryModelBundle implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final Logger LOGGER = Logger.getLogger(CategoryModelBundle.class.getName());
+
+    // Bump when the bundle's contents or the way they are built change, so old bundles are rebuilt
+    private static final int FORMAT_VERSION = 1;
+    private static final String FILE_NAME = "category_model_bundle.ser";
+
+    private final int formatVersion;
+    private final long modelChecksum;
+    private final Instances header;
+    private final StringToWordVector filter;
+
+    /**
+     * @param modelChecksum CRC-32 of the serialized model the bundle belongs to.
+     * @param header An empty dataset with the raw ARFF attributes (description, category); class index set.
+     * @param filter The fitted filter, or null if the classifier applies its own (e.g. a FilteredClassifier).
+     */
+    CategoryModelBundle(long modelChecksum, Instances header, StringToWordVector filter) {
+        this.formatVersion = FORMAT_VERSION;
+        this.modelChecksum = modelChecksum;
+        this.header = header;
+        this.filter = filter;
+    }
+
+    Instances getHeader() {
+        return header;
+    }
+
+    StringToWordVector getFilter() {
+        return filter;
+    }
+
+    /**
+     * @return The bundle file in the user's cache directory ({@code ~/.financeapp/cache}).
+     */
+    static Path defaultLocation() {
+        return Paths.get(System.getProperty("user.home"), ".financeapp", "cache", FILE_NAME);
+    }
+
+    /**
+     * Reads a bundle, if there is a usable one for the given model.
+     *
+     * @param file The bundle file.
+     * @param modelChecksum CRC-32 of the serialized model that will be used.
+     * @return The bundle, or null if it is missing, unreadable, in an older format or built for another model.
+     */
+    static CategoryModelBundle load(Path file, long modelChecksum) {
+        try (InputStream in = Files.newInputStream(file);
+             ObjectInputStream ois = new ObjectInputStream(in)) {
+            CategoryModelBundle bundle = (CategoryModelBundle) ois.readObject();
+            if (bundle.formatVersion != FORMAT_VERSION || bundle.modelChecksum != modelChecksum || bundle.header == null) {
+                LOGGER.log(Level.INFO, "Category model bundle " + file + " is stale; it will be rebuilt.");
+                return null;
+            }
+            return bundle;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOGGER.log(Level.WARNING, "Could not read category model bundle " + file + "; it will be rebuilt: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the bundle, replacing any previous one. Failures are logged only: the bundle is an optimization.
+     *
+     * @param file The bundle file; its directory is created if necessary.
+     */
+    void save(Path file) {
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), FILE_NAME, ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp);
+                 ObjectOutputStream oos = new ObjectOutputStream(out)) {
+                oos.writeObject(this);
+            }
+            // Readers never see a half-written bundle
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.log(Level.INFO, "Category model bundle saved to " + file);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not save category model bundle " + file + ": " + e.getMessage(), e);
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // Best effort
+                }
+            }
+        }
+    }
+}
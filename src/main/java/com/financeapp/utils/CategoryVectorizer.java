@@ -0,0 +1,153 @@
+// src/main/java/com/financeapp/utils/CategoryVectorizer.java
+package com.financeapp.utils;
+
+import weka.classifiers.Classifier;
+import weka.classifiers.trees.J48;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+import weka.core.Utils;
+import weka.core.stemmers.NullStemmer;
+import weka.core.stopwords.Null;
+import weka.core.tokenizers.WordTokenizer;
+import weka.filters.unsupervised.attribute.StringToWordVector;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringTokenizer;
+
+/**
+ * Classifies descriptions with a fitted StringToWordVector and the classifier trained on its output, without
+ * running the filter: the filter's vocabulary is compiled once into a token to attribute index map, and each
+ * thread reuses its own attribute value array and instance. Classifying a description then allocates only its
+ * tokens, instead of a dataset copy per call as {@code Filter.useFilter} does.
+ * <p>
+ * Only filter settings whose output can be reproduced exactly are supported (word tokenizer, no stemming,
+ * stopwords, TF/IDF transform or length normalization); {@link #create} returns null otherwise.
+ * Instances are thread-safe. J48 (the shipped model) classifies without modifying itself, so it is called
+ * concurrently; any other classifier is called under a lock.
+ */
+final class CategoryVectorizer {
+
+    private final Classifier classifier;
+    private final boolean concurrentClassifier;
+    private final Instances filteredHeader; // Empty dataset in the filter's output format
+    private final Map<String, Integer> tokenIndices;
+    private final String delimiters;
+    private final boolean lowerCaseTokens;
+    private final boolean outputWordCounts;
+    private final ThreadLocal<Scratch> scratch;
+
+    /**
+     * Per-thread instance and the attribute indices it currently has set, so it can be cleared cheaply.
+     */
+    private static final class Scratch {
+        private final double[] values;
+        private final DenseInstance instance;
+        private final int[] touched;
+        private int touchedCount;
+
+        private Scratch(Instances header) {
+            values = new double[header.numAttributes()];
+            values[header.classIndex()] = Utils.missingValue();
+            instance = new DenseInstance(1.0, values); // Wraps 'values' without copying it
+            instance.setDataset(header);
+            touched = new int[header.numAttributes()];
+        }
+
+        private void clear() {
+            for (int i = 0; i < touchedCount; i++) {
+                values[touched[i]] = 0;
+            }
+            touchedCount = 0;
+        }
+    }
+
+    private CategoryVectorizer(Classifier classifier, Instances filteredHeader, Map<String, Integer> tokenIndices,
+                               String delimiters, boolean lowerCaseTokens, boolean outputWordCounts) {
+        this.classifier = classifier;
+        this.concurrentClassifier = classifier instanceof J48;
+        this.filteredHeader = filteredHeader;
+        this.tokenIndices = tokenIndices;
+        this.delimiters = delimiters;
+        this.lowerCaseTokens = lowerCaseTokens;
+        this.outputWordCounts = outputWordCounts;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(filteredHeader));
+    }
+
+    /**
+     * Compiles a fitted filter's vocabulary for fast classification.
+     *
+     * @param filter A StringToWordVector that has processed its first batch (the training data).
+     * @param classifier The classifier trained on the filter's output.
+     * @return The vectorizer, or null if the filter's settings are not supported or it has not been fitted.
+     */
+    static CategoryVectorizer create(StringToWordVector filter, Classifier classifier) {
+        if (!(filter.getTokenizer() instanceof WordTokenizer)
+                || !(filter.getStemmer() instanceof NullStemmer)
+                || !(filter.getStopwordsHandler() instanceof Null)
+                || filter.getTFTransform() || filter.getIDFTransform()
+                || filter.getNormalizeDocLength().getSelectedTag().getID() != StringToWordVector.FILTER_NONE) {
+            return null;
+        }
+        Instances outputFormat;
+        try {
+            outputFormat = filter.getOutputFormat();
+        } catch (RuntimeException e) {
+            return null; // Not fitted yet
+        }
+        if (outputFormat == null || outputFormat.classIndex() < 0) {
+            return null;
+        }
+        Instances header = new Instances(outputFormat, 0);
+
+        // Word attributes are the numeric ones the filter added; their names are the prefix plus the token
+        String prefix = filter.getAttributeNamePrefix();
+        Map<String, Integer> tokenIndices = new HashMap<>();
+        for (int i = 0; i < header.numAttributes(); i++) {
+            String name = header.attribute(i).name();
+            if (i != header.classIndex() && header.attribute(i).isNumeric() && name.startsWith(prefix)) {
+                tokenIndices.put(name.substring(prefix.length()), i);
+            }
+        }
+        return new CategoryVectorizer(classifier, header, tokenIndices,
+                ((WordTokenizer) filter.getTokenizer()).getDelimiters(), filter.getLowerCaseTokens(), filter.getOutputWordCounts());
+    }
+
+    /**
+     * Classifies a description.
+     *
+     * @param description The transaction description.
+     * @return The index of the predicted class value.
+     * @throws Exception If the classifier fails.
+     */
+    int classify(String description) throws Exception {
+        Scratch s = scratch.get();
+        s.clear();
+        // Same tokens as the filter's WordTokenizer; words outside the vocabulary are ignored, as by the filter
+        StringTokenizer tokens = new StringTokenizer(description, delimiters);
+        while (tokens.hasMoreTokens()) {
+            String token = tokens.nextToken();
+            Integer index = tokenIndices.get(lowerCaseTokens ? token.toLowerCase() : token);
+            if (index == null) {
+                continue;
+            }
+            if (s.values[index] == 0) {
+                s.touched[s.touchedCount++] = index;
+            }
+            s.values[index] = outputWordCounts ? s.values[index] + 1 : 1;
+        }
+        if (concurrentClassifier) {
+            return (int) classifier.classifyInstance(s.instance);
+        }
+        synchronized (classifier) {
+            return (int) classifier.classifyInstance(s.instance);
+        }
+    }
+
+    /**
+     * @return The class attribute's value for a class index returned by {@link #classify}.
+     */
+    String classValue(int classIndex) {
+        return filteredHeader.classAttribute().value(classIndex);
+    }
+}
@@ -0,0 +1,83 @@
+// src/main/java/com/financeapp/utils/ChartDownsampler.java
+package com.financeapp.utils;
+
+/**
+ * Reduces the number of points in a line chart series while keeping its visual shape,
+ * using the Largest-Triangle-Three-Buckets (LTTB) algorithm.
+ * <p>
+ * The first and last points are always kept. The points in between are split into {@code threshold - 2}
+ * buckets, and from each bucket the point forming the largest triangle with the previously kept point
+ * and the average of the next bucket is kept, which preserves peaks and troughs.
+ */
+public class ChartDownsampler {
+
+    /**
+     * Private constructor to prevent instantiation, as this is a utility class with static methods.
+     */
+    private ChartDownsampler() {
+        // Private constructor
+    }
+
+    /**
+     * Selects at most {@code threshold} points of a series with LTTB.
+     *
+     * @param x The x values, in ascending order.
+     * @param y The y values; same length as {@code x}.
+     * @param threshold The maximum number of points to keep, e.g. the chart's width in pixels.
+     * @return The indices of the points to keep, in ascending order. All indices if the series already
+     *         has at most {@code threshold} points or if {@code threshold} is less than 3.
+     */
+    public static int[] largestTriangleThreeBuckets(double[] x, double[] y, int threshold) {
+        int n = x.length;
+        if (y.length != n) {
+            throw new IllegalArgumentException("x and y must have the same length: " + n + " != " + y.length);
+        }
+        if (threshold >= n || threshold < 3) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] sampled = new int[threshold];
+        int sampledCount = 0;
+        double bucketSize = (double) (n - 2) / (threshold - 2); // Points per bucket, excluding first and last
+        int previous = 0;
+        sampled[sampledCount++] = previous;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Average of the next bucket (or the last point, for the final bucket)
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, n);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += x[i];
+                averageY += y[i];
+            }
+            int nextCount = nextEnd - nextStart;
+            averageX /= nextCount;
+            averageY /= nextCount;
+
+            // Point of this bucket forming the largest triangle with the previous point and the next average
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            double maxArea = -1;
+            int selected = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((x[previous] - averageX) * (y[i] - y[previous])
+                        - (x[previous] - x[i]) * (averageY - y[previous])); // Twice the area; only compared
+                if (area > maxArea) {
+                    maxArea = area;
+                    selected = i;
+                }
+            }
+            sampled[sampledCount++] = selected;
+            previous = selected;
+        }
+
+        sampled[sampledCount] = n - 1;
+        return sampled;
+    }
+}
@@ -0,0 +1,177 @@
+// src/main/java/com/financeapp/utils/DashboardCache.java
+package com.financeapp.utils;
+
+import com.financeapp.dao.DataChangeNotifier;
+import com.financeapp.dao.DataChangeNotifier.EntityType;
+
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cache of computed dashboard data (summary totals, chart series, predictions, budget rows),
+ * keyed by user, the month the dashboard is showing, and dashboard component.
+ * <p>
+ * Entries are dropped only when {@link DataChangeNotifier} reports a write for the same user that the component
+ * depends on and that touches a month inside the component's window. Refreshing an unchanged dashboard
+ * (e.g. when switching tabs) is then served entirely from memory. All of a user's entries are dropped with
+ * {@link #invalidateUser(int)} when the user logs out or is deleted, so the cache only holds data of users in use.
+ * Cached values are shared and must be treated as read-only.
+ */
+public class DashboardCache implements DataChangeNotifier.Listener {
+
+    private static final Logger LOGGER = Logger.getLogger(DashboardCache.class.getName());
+    private static final int UNBOUNDED = -1;
+
+    /**
+     * A cached piece of the dashboard, with the writes it depends on and the months, relative to the
+     * dashboard's month, whose data it shows.
+     */
+    public enum Component {
+        /** Income and expense totals for the month. */
+        SUMMARY(0, 0, EntityType.TRANSACTION, EntityType.CATEGORY),
+        /** Pie (this month), bar (last six months) and line (all time) series; together they cover every month. */
+        CHARTS(UNBOUNDED, UNBOUNDED, EntityType.TRANSACTION, EntityType.CATEGORY),
+        /** Next month's predicted expenses, computed from the last three months. */
+        PREDICTIONS(2, 0, EntityType.TRANSACTION, EntityType.CATEGORY),
+        /** Budget rows with their spending, for budgets of any month. */
+        BUDGETS(UNBOUNDED, UNBOUNDED, EntityType.TRANSACTION, EntityType.BUDGET, EntityType.CATEGORY);
+
+        private final int monthsBefore;
+        private final int monthsAfter;
+        private final Set<EntityType> dependencies;
+
+        Component(int monthsBefore, int monthsAfter, EntityType first, EntityType... rest) {
+            this.monthsBefore = monthsBefore;
+            this.monthsAfter = monthsAfter;
+            this.dependencies = EnumSet.of(first, rest);
+        }
+
+        /**
+         * @return true if the component's window around {@code month} contains any of the periods
+         *         (an empty set stands for every month).
+         */
+        boolean overlaps(YearMonth month, Set<YearMonth> periods) {
+            if (periods.isEmpty()) {
+                return true;
+            }
+            YearMonth first = monthsBefore == UNBOUNDED ? null : month.minusMonths(monthsBefore);
+            YearMonth last = monthsAfter == UNBOUNDED ? null : month.plusMonths(monthsAfter);
+            for (YearMonth period : periods) {
+                if ((first == null || !period.isBefore(first)) && (last == null || !period.isAfter(last))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean dependsOn(EntityType type) {
+            return dependencies.contains(type);
+        }
+    }
+
+    private static final DashboardCache INSTANCE = new DashboardCache();
+
+    private final Map<Key, Object> entries = new ConcurrentHashMap<>();
+    // Bumped on every invalidation, so a load that raced with a write is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private DashboardCache() {
+        DataChangeNotifier.addListener(this);
+    }
+
+    public static DashboardCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a cached component value.
+     *
+     * @param userId The ID of the user.
+     * @param month The month the dashboard shows.
+     * @param component The dashboard component.
+     * @param <T> The component's value type, as stored by {@link #put}.
+     * @return The cached value, or null if it is not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(int userId, YearMonth month, Component component) {
+        return (T) entries.get(new Key(userId, month, component));
+    }
+
+    /**
+     * Returns the current invalidation generation. Read it before loading a value and pass it to {@link #put},
+     * so the value is not cached if a write happened while it was being loaded.
+     *
+     * @return The current generation.
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Caches a component value, unless an invalidation happened since {@code generationBeforeLoad}.
+     *
+     * @param userId The ID of the user.
+     * @param month The month the dashboard shows.
+     * @param component The dashboard component.
+     * @param value The computed value.
+     * @param generationBeforeLoad The result of {@link #getGeneration()} taken before the value was loaded.
+     */
+    public void put(int userId, YearMonth month, Component component, Object value, long generationBeforeLoad) {
+        if (value != null && generation.get() == generationBeforeLoad) {
+            entries.put(new Key(userId, month, component), value);
+        }
+    }
+
+    /**
+     * Drops every cached value of a user, e.g. on logout or when the user is deleted.
+     *
+     * @param userId The ID of the user.
+     */
+    public void invalidateUser(int userId) {
+        generation.incrementAndGet();
+        entries.keySet().removeIf(key -> key.userId == userId);
+    }
+
+    @Override
+    public void dataChanged(EntityType type, int userId, Set<YearMonth> periods) {
+        generation.incrementAndGet();
+        int before = entries.size();
+        entries.keySet().removeIf(key -> key.userId == userId
+                && key.component.dependsOn(type)
+                && key.component.overlaps(key.month, periods));
+        LOGGER.log(Level.FINE, type + " change for user " + userId + " " + (periods.isEmpty() ? "(all months)" : periods)
+                + " dropped " + (before - entries.size()) + " dashboard cache entries.");
+    }
+
+    private static final class Key {
+        private final int userId;
+        private final YearMonth month;
+        private final Component component;
+
+        private Key(int userId, YearMonth month, Component component) {
+            this.userId = userId;
+            this.month = month;
+            this.component = component;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return userId == other.userId && month.equals(other.month) && component == other.component;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, month, component);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+// src/main/java/com/financeapp/utils/HashedNaiveBayes.java
+package com.financeapp.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multinomial naive Bayes text classifier over hashed tokens, for short transaction descriptions.
+ * <p>
+ * Descriptions are split into lower-cased runs of letters and digits, and each token is hashed into one of
+ * {@code 2^bucketBits} buckets (feature hashing), so there is no vocabulary to build or store: a model is a
+ * {@code double[]} of log-likelihoods per class plus the class priors. Classifying scans the description's
+ * characters once without creating token strings and adds up one table entry per token and class.
+ * <p>
+ * A model is immutable and thread-safe. It is built by a {@link Trainer}, which keeps the raw counts so that
+ * examples can be added (or, with a negative weight, taken back) and a new model built in milliseconds.
+ */
+public final class HashedNaiveBayes {
+
+    private static final double ALPHA = 1.0; // Laplace smoothing
+
+    private final String[] labels;
+    private final double[] logPriors;
+    private final double[][] logLikelihoods; // [class][bucket]
+    private final long[] knownBuckets; // Bit set of buckets seen in training; other tokens carry no evidence
+    private final int mask;
+
+    private HashedNaiveBayes(String[] labels, double[] logPriors, double[][] logLikelihoods, long[] knownBuckets, int mask) {
+        this.labels = labels;
+        this.logPriors = logPriors;
+        this.logLikelihoods = logLikelihoods;
+        this.knownBuckets = knownBuckets;
+        this.mask = mask;
+    }
+
+    /**
+     * Classifies a description.
+     *
+     * @param description The transaction description.
+     * @return The most probable label, or null if no token of the description was seen in training
+     *         (the prior alone is not a useful prediction) or the model has no classes.
+     */
+    public String classify(CharSequence description) {
+        if (labels.length == 0) {
+            return null;
+        }
+        double[] scores = logPriors.clone();
+        boolean evidence = false;
+        int[] hash = new int[1];
+        for (int end = nextToken(description, 0, hash); end >= 0; end = nextToken(description, end, hash)) {
+            int bucket = bucket(hash[0], mask);
+            if ((knownBuckets[bucket >>> 6] & (1L << bucket)) == 0) {
+                continue;
+            }
+            evidence = true;
+            for (int c = 0; c < scores.length; c++) {
+                scores[c] += logLikelihoods[c][bucket];
+            }
+        }
+        if (!evidence) {
+            return null;
+        }
+        int best = 0;
+        for (int c = 1; c < scores.length; c++) {
+            if (scores[c] > scores[best]) {
+                best = c;
+            }
+        }
+        return labels[best];
+    }
+
+    /**
+     * @return The class labels the model can predict.
+     */
+    public List<String> getLabels() {
+        return List.of(labels);
+    }
+
+    /**
+     * Finds the next token (a run of letters and digits) and hashes it the way String.hashCode would hash
+     * its lower-case form, without creating the string.
+     *
+     * @param text The text.
+     * @param from Where to start looking.
+     * @param hashOut Receives the token's hash in element 0.
+     * @return The index just after the token, or -1 if there are no more tokens.
+     */
+    private static int nextToken(CharSequence text, int from, int[] hashOut) {
+        int length = text.length();
+        int i = from;
+        while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return -1;
+        }
+        int hash = 0;
+        while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+            hash = 31 * hash + Character.toLowerCase(text.charAt(i));
+            i++;
+        }
+        hashOut[0] = hash;
+        return i;
+    }
+
+    /**
+     * Spreads the token hash's high bits into the low ones before masking, so similar tokens do not collide.
+     */
+    private static int bucket(int hash, int mask) {
+        return (hash ^ (hash >>> 16)) * 0x9E3779B9 >>> 7 & mask;
+    }
+
+    /**
+     * Accumulates token counts per class and builds {@link HashedNaiveBayes} models from them.
+     * Not thread-safe; build a model to share the result.
+     */
+    public static final class Trainer {
+
+        private final int bucketBits;
+        private final List<String> labels = new ArrayList<>();
+        private final Map<String, Integer> labelIndices = new HashMap<>();
+        private final List<double[]> bucketCounts = new ArrayList<>(); // Per class, token count per bucket
+        private final List<double[]> totals = new ArrayList<>(); // Per class, {documents, tokens}
+
+        /**
+         * @param bucketBits log2 of the number of hash buckets, e.g. 14 for 16384 buckets.
+         */
+        public Trainer(int bucketBits) {
+            if (bucketBits < 6 || bucketBits > 24) {
+                throw new IllegalArgumentException("bucketBits must be between 6 and 24: " + bucketBits);
+            }
+            this.bucketBits = bucketBits;
+        }
+
+        /**
+         * @return An independent copy of this trainer's counts, e.g. to add a user's examples to shared seed data.
+         */
+        public Trainer copy() {
+            Trainer copy = new Trainer(bucketBits);
+            copy.labels.addAll(labels);
+            copy.labelIndices.putAll(labelIndices);
+            for (int c = 0; c < labels.size(); c++) {
+                copy.bucketCounts.add(bucketCounts.get(c).clone());
+                copy.totals.add(totals.get(c).clone());
+            }
+            return copy;
+        }
+
+        /**
+         * Adds a labelled description.
+         *
+         * @param description The description.
+         * @param label Its class, e.g. a category name.
+         * @param weight How many examples it counts as; a negative weight takes back an example added before
+         *               (e.g. when a transaction's category is corrected).
+         */
+        public void add(String description, String label, double weight) {
+            if (description == null || label == null || weight == 0) {
+                return;
+            }
+            Integer index = labelIndices.get(label);
+            if (index == null) {
+                if (weight < 0) {
+                    return; // Nothing to take back
+                }
+                index = labels.size();
+                labels.add(label);
+                labelIndices.put(label, index);
+                bucketCounts.add(new double[1 << bucketBits]);
+                totals.add(new double[2]);
+            }
+            double[] counts = bucketCounts.get(index);
+            double[] classTotals = totals.get(index);
+            int mask = (1 << bucketBits) - 1;
+            int[] hash = new int[1];
+            for (int end = nextToken(description, 0, hash); end >= 0; end = nextToken(description, end, hash)) {
+                int bucket = bucket(hash[0], mask);
+                counts[bucket] = Math.max(0, counts[bucket] + weight);
+                classTotals[1] = Math.max(0, classTotals[1] + weight);
+            }
+            classTotals[0] = Math.max(0, classTotals[0] + weight);
+        }
+
+        /**
+         * @return The number of (weighted) examples added so far.
+         */
+        public double getDocumentCount() {
+            double documents = 0;
+            for (double[] classTotals : totals) {
+                documents += classTotals[0];
+            }
+            return documents;
+        }
+
+        /**
+         * Builds a model from the current counts. Classes whose examples have all been taken back are left out.
+         *
+         * @return The model.
+         */
+        public HashedNaiveBayes build() {
+            int buckets = 1 << bucketBits;
+            List<Integer> classes = new ArrayList<>();
+            double documents = 0;
+            for (int c = 0; c < labels.size(); c++) {
+                if (totals.get(c)[0] > 0) {
+                    classes.add(c);
+                    documents += totals.get(c)[0];
+                }
+            }
+            String[] modelLabels = new String[classes.size()];
+            double[] logPriors = new double[classes.size()];
+            double[][] logLikelihoods = new double[classes.size()][];
+            long[] known = new long[Math.max(1, buckets >>> 6)];
+            for (int m = 0; m < classes.size(); m++) {
+                int c = classes.get(m);
+                double[] counts = bucketCounts.get(c);
+                double[] classTotals = totals.get(c);
+                modelLabels[m] = labels.get(c);
+                logPriors[m] = Math.log((classTotals[0] + ALPHA) / (documents + ALPHA * classes.size()));
+                double logDenominator = Math.log(classTotals[1] + ALPHA * buckets);
+                double[] logLikelihood = new double[buckets];
+                for (int b = 0; b < buckets; b++) {
+                    logLikelihood[b] = Math.log(counts[b] + ALPHA) - logDenominator;
+                    if (counts[b] > 0) {
+                        known[b >>> 6] |= 1L << b;
+                    }
+                }
+                logLikelihoods[m] = logLikelihood;
+            }
+            return new HashedNaiveBayes(modelLabels, logPriors, logLikelihoods, known, buckets - 1);
+        }
+
+        @Override
+        public String toString() {
+            return "HashedNaiveBayes.Trainer[" + labels.size() + " classes, " + getDocumentCount() + " documents, "
+                    + (1 << bucketBits) + " buckets, labels=" + Arrays.toString(labels.toArray()) + "]";
+        }
+    }
+}
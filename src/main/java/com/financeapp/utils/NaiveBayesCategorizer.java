@@ -0,0 +1,387 @@
+// src/main/java/com/financeapp/utils/NaiveBayesCategorizer.java
+package com.financeapp.utils;
+
+import com.financeapp.dao.CategoryDAO;
+import com.financeapp.dao.DataChangeNotifier;
+import com.financeapp.dao.TransactionDAO;
+import com.financeapp.model.Category;
+import weka.core.Instance;
+import weka.core.Instances;
+import weka.core.converters.ArffLoader;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fast path for transaction categorization with {@link HashedNaiveBayes}, consulted by
+ * {@link WekaPredictor#predictCategory} before the Weka model.
+ * <p>
+ * A shared model is trained from {@code category_classifier.arff} in the background once the Weka models have
+ * loaded. When a user logs in, {@link #trainUser(int)} builds that user's model from the same seed data plus the
+ * user's own categorized transactions, so predictions use the user's category names and habits.
+ * <p>
+ * User models then keep learning while the user is logged in: transaction inserts and updates (including
+ * category corrections) are reported by {@link DataChangeNotifier} into a bounded queue, and a single
+ * background learner thread applies them to the user's training counts and swaps in a newly built model.
+ * Writers never wait for the learner; if the queue is full, the affected user is retrained from the database
+ * instead. The same happens when a write overlaps a retrain's database read, since the read may or may not
+ * include it. Deleted transactions, and anything else the increments miss, are corrected by a full retrain of
+ * every logged-in user every {@link #COMPACTION_INTERVAL_MINUTES} minutes.
+ * <p>
+ * Until a model is ready, or for descriptions with no known words, {@link #classify} returns null and the
+ * caller falls back to Weka. Can be switched off with {@code -Dfinanceapp.naiveBayes=false} or
+ * {@link #setEnabled(boolean)}.
+ */
+public class NaiveBayesCategorizer {
+
+    private static final Logger LOGGER = Logger.getLogger(NaiveBayesCategorizer.class.getName());
+
+    private static final int BUCKET_BITS = 14; // 16384 hash buckets; collisions are rare for short descriptions
+    // A user's own categorizations outweigh the generic seed examples where they share words
+    private static final double USER_EXAMPLE_WEIGHT = 2.0;
+    private static final int WRITE_QUEUE_CAPACITY = 10_000;
+    private static final long COMPACTION_INTERVAL_MINUTES = 30;
+    private static final long LEARNER_POLL_SECONDS = 1; // How often the learner checks for retrain and discard requests
+
+    private static final CompletableFuture<HashedNaiveBayes.Trainer> SEED = new CompletableFuture<>();
+    private static volatile HashedNaiveBayes sharedModel;
+    // Model snapshots read by classify; each is immutable and replaced as a whole
+    private static final Map<Integer, HashedNaiveBayes> USER_MODELS = new ConcurrentHashMap<>();
+    private static final AtomicLong MODEL_GENERATION = new AtomicLong();
+
+    // Learner input: logged-in users, their pending writes and requests. The learner's trainers are its own.
+    private static final Set<Integer> ACTIVE_USERS = ConcurrentHashMap.newKeySet();
+    private static final BlockingQueue<DataChangeNotifier.TransactionWrite> WRITES = new ArrayBlockingQueue<>(WRITE_QUEUE_CAPACITY);
+    private static final Set<Integer> PENDING_RETRAINS = ConcurrentHashMap.newKeySet();
+    private static final Set<Integer> PENDING_DISCARDS = ConcurrentHashMap.newKeySet();
+    private static Thread learner;
+    private static volatile boolean enabled = Boolean.parseBoolean(System.getProperty("financeapp.naiveBayes", "true"));
+
+    /**
+     * The write sequence numbers taken just before and just after a retrain's database read, which tell the
+     * learner whether a queued write is already in the retrained counts (see {@link DataChangeNotifier#nextWriteSequence()}).
+     */
+    private static final class ReadWindow {
+        private final long start;
+        private final long end;
+
+        private ReadWindow(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /** @return true if the write committed before the read began, so the read includes it. */
+        private boolean includes(DataChangeNotifier.TransactionWrite write) {
+            return write.getCommitSequence() < start;
+        }
+
+        /** @return true if the write started after the read ended, so the read cannot include it. */
+        private boolean precedes(DataChangeNotifier.TransactionWrite write) {
+            return write.getStartSequence() > end;
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation, as this is a utility class with static methods.
+     */
+    private NaiveBayesCategorizer() {
+        // Private constructor
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns the fast path on or off; when off, categorization always uses the Weka model.
+     *
+     * @param enabled true to use naive Bayes predictions when available.
+     */
+    public static void setEnabled(boolean enabled) {
+        NaiveBayesCategorizer.enabled = enabled;
+    }
+
+    /**
+     * Trains the shared model from {@code category_classifier.arff}. Called once, on the Weka loading thread.
+     */
+    static void trainSeed() {
+        if (SEED.isDone()) {
+            return;
+        }
+        long start = System.nanoTime();
+        HashedNaiveBayes.Trainer trainer = new HashedNaiveBayes.Trainer(BUCKET_BITS);
+        try (InputStream arff = NaiveBayesCategorizer.class.getResourceAsStream("/com/financeapp/weka_models/category_classifier.arff")) {
+            if (arff == null) {
+                throw new IllegalStateException("category_classifier.arff not found in resources!");
+            }
+            ArffLoader loader = new ArffLoader();
+            loader.setSource(arff);
+            Instances structure = loader.getStructure();
+            structure.setClassIndex(structure.numAttributes() - 1);
+            int descriptionIndex = structure.attribute("description").index();
+            // Read one row at a time; the labelled data is never held in memory as a dataset
+            for (Instance row = loader.getNextInstance(structure); row != null; row = loader.getNextInstance(structure)) {
+                if (!row.isMissing(descriptionIndex) && !row.classIsMissing()) {
+                    trainer.add(row.stringValue(descriptionIndex), row.stringValue(row.classIndex()), 1.0);
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Failed to train the naive Bayes category model; Weka will be used: " + e.getMessage(), e);
+            SEED.completeExceptionally(e);
+            return;
+        }
+        sharedModel = trainer.build();
+        SEED.complete(trainer);
+        LOGGER.log(Level.INFO, "Naive Bayes category model trained on " + (long) trainer.getDocumentCount()
+                + " examples in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+    }
+
+    /**
+     * Starts keeping a model for the user, e.g. on login: the learner builds it from the seed data and the user's
+     * categorized transactions, then keeps it up to date as the user's transactions are written. Returns at once;
+     * the shared model serves the user until theirs is built.
+     *
+     * @param userId The ID of the user.
+     */
+    public static void trainUser(int userId) {
+        ACTIVE_USERS.add(userId);
+        PENDING_RETRAINS.add(userId);
+        startLearner();
+    }
+
+    /**
+     * Drops a user's model and stops learning from their writes, e.g. on logout.
+     *
+     * @param userId The ID of the user.
+     */
+    public static void discardUser(int userId) {
+        ACTIVE_USERS.remove(userId);
+        PENDING_RETRAINS.remove(userId);
+        PENDING_DISCARDS.add(userId);
+        if (USER_MODELS.remove(userId) != null) {
+            MODEL_GENERATION.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return A number that changes whenever a user model is replaced or dropped, so cached predictions can be
+     *         told apart from ones made with the current models.
+     */
+    public static long getModelGeneration() {
+        return MODEL_GENERATION.get();
+    }
+
+    /**
+     * Starts the learner thread and subscribes it to transaction writes, once.
+     */
+    private static synchronized void startLearner() {
+        if (learner != null) {
+            return;
+        }
+        DataChangeNotifier.addTransactionListener(NaiveBayesCategorizer::enqueue);
+        learner = BackgroundExecutor.daemonThreadFactory("category-learner").newThread(NaiveBayesCategorizer::learn);
+        learner.start();
+    }
+
+    /**
+     * Queues the writes of logged-in users for the learner. Runs on the writing thread, so it never waits:
+     * a write that does not fit in the queue makes the learner retrain its user from the database instead.
+     */
+    private static void enqueue(List<DataChangeNotifier.TransactionWrite> writes) {
+        for (DataChangeNotifier.TransactionWrite write : writes) {
+            int userId = write.getUserId();
+            if (ACTIVE_USERS.contains(userId) && !PENDING_RETRAINS.contains(userId)
+                    && !WRITES.offer(write)) {
+                PENDING_RETRAINS.add(userId);
+            }
+        }
+    }
+
+    /**
+     * The learner loop: applies queued writes in batches, serves retrain and discard requests, and periodically
+     * retrains every logged-in user. Each changed user model is rebuilt once per batch and swapped in whole.
+     */
+    private static void learn() {
+        Map<Integer, HashedNaiveBayes.Trainer> trainers = new HashMap<>();
+        // Per user, the window of the database read the counts were last rebuilt from
+        Map<Integer, ReadWindow> readWindows = new HashMap<>();
+        CategoryDAO categoryDAO = new CategoryDAO();
+        List<DataChangeNotifier.TransactionWrite> batch = new ArrayList<>();
+        long nextCompaction = System.nanoTime() + TimeUnit.MINUTES.toNanos(COMPACTION_INTERVAL_MINUTES);
+        while (true) {
+            try {
+                DataChangeNotifier.TransactionWrite first = WRITES.poll(LEARNER_POLL_SECONDS, TimeUnit.SECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    WRITES.drainTo(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.log(Level.WARNING, "Category learner interrupted; user models will no longer be updated.");
+                return;
+            }
+            try {
+                for (Integer userId : drain(PENDING_DISCARDS)) {
+                    if (!ACTIVE_USERS.contains(userId)) {
+                        trainers.remove(userId);
+                        readWindows.remove(userId);
+                    }
+                }
+
+                // Retrains wait for the seed model; if it failed to train, Weka serves everyone
+                HashedNaiveBayes.Trainer seed = SEED.isDone() && !SEED.isCompletedExceptionally() ? SEED.join() : null;
+                Set<Integer> retrains = new HashSet<>();
+                if (seed != null) {
+                    retrains.addAll(drain(PENDING_RETRAINS));
+                    if (System.nanoTime() - nextCompaction >= 0) {
+                        retrains.addAll(ACTIVE_USERS); // Compaction: drops drift from deletes and missed writes
+                        nextCompaction = System.nanoTime() + TimeUnit.MINUTES.toNanos(COMPACTION_INTERVAL_MINUTES);
+                    }
+                } else if (SEED.isCompletedExceptionally()) {
+                    PENDING_RETRAINS.clear();
+                }
+
+                Set<Integer> changed = new HashSet<>();
+                for (Integer userId : retrains) {
+                    if (ACTIVE_USERS.contains(userId)) {
+                        long readStart = DataChangeNotifier.nextWriteSequence();
+                        HashedNaiveBayes.Trainer trainer = retrain(seed, userId);
+                        long readEnd = DataChangeNotifier.nextWriteSequence();
+                        if (trainer != null) {
+                            trainers.put(userId, trainer);
+                            readWindows.put(userId, new ReadWindow(readStart, readEnd));
+                            changed.add(userId);
+                        }
+                    }
+                }
+                for (DataChangeNotifier.TransactionWrite write : batch) {
+                    int userId = write.getUserId();
+                    HashedNaiveBayes.Trainer trainer = trainers.get(userId);
+                    if (trainer == null) {
+                        continue;
+                    }
+                    ReadWindow window = readWindows.get(userId);
+                    if (window.includes(write)) {
+                        continue;
+                    }
+                    if (!window.precedes(write)) {
+                        // Ran while the read did, so it may or may not be in the counts: read again instead of guessing
+                        PENDING_RETRAINS.add(userId);
+                        continue;
+                    }
+                    if (apply(trainer, write, categoryDAO)) {
+                        changed.add(userId);
+                    }
+                }
+                for (Integer userId : changed) {
+                    if (ACTIVE_USERS.contains(userId)) {
+                        HashedNaiveBayes model = trainers.get(userId).build();
+                        USER_MODELS.put(userId, model);
+                        MODEL_GENERATION.incrementAndGet();
+                        if (ACTIVE_USERS.contains(userId)) {
+                            continue;
+                        }
+                        USER_MODELS.remove(userId, model); // Logged out while the model was being swapped in
+                    }
+                    trainers.remove(userId);
+                    readWindows.remove(userId);
+                }
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Category learner failed to apply " + batch.size() + " writes: " + e.getMessage(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Builds a user's training counts from the seed data and the user's categorized transactions.
+     *
+     * @return The trainer, or null on a database error (already logged); the previous model then stays in use.
+     */
+    private static HashedNaiveBayes.Trainer retrain(HashedNaiveBayes.Trainer seed, int userId) {
+        long start = System.nanoTime();
+        HashedNaiveBayes.Trainer trainer = seed.copy();
+        long rows = new TransactionDAO().forEachLabelledDescription(userId,
+                (description, categoryName) -> trainer.add(description, categoryName, USER_EXAMPLE_WEIGHT));
+        if (rows < 0) {
+            return null;
+        }
+        LOGGER.log(Level.INFO, "Naive Bayes category model for user " + userId + " trained on " + rows
+                + " transactions in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        return trainer;
+    }
+
+    /**
+     * Applies one write to a user's counts: an update takes back the old description and category before the
+     * new ones are added.
+     *
+     * @return true if the counts changed.
+     */
+    private static boolean apply(HashedNaiveBayes.Trainer trainer, DataChangeNotifier.TransactionWrite write, CategoryDAO categoryDAO) {
+        if (!write.isInsert() && write.getOldCategoryId() == write.getNewCategoryId()
+                && Objects.equals(write.getOldDescription(), write.getNewDescription())) {
+            return false; // E.g. only the amount or date changed
+        }
+        if (!write.isInsert()) {
+            trainer.add(write.getOldDescription(), categoryName(categoryDAO, write.getOldCategoryId()), -USER_EXAMPLE_WEIGHT);
+        }
+        trainer.add(write.getNewDescription(), categoryName(categoryDAO, write.getNewCategoryId()), USER_EXAMPLE_WEIGHT);
+        return true;
+    }
+
+    private static String categoryName(CategoryDAO categoryDAO, int categoryId) {
+        Category category = categoryId > 0 ? categoryDAO.getCategoryById(categoryId) : null;
+        return category != null ? category.getCategoryName() : null;
+    }
+
+    private static Set<Integer> drain(Set<Integer> requests) {
+        Set<Integer> drained = new HashSet<>();
+        for (Integer userId : requests) {
+            if (requests.remove(userId)) {
+                drained.add(userId);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Classifies a description with the shared model. Never blocks.
+     *
+     * @param description The transaction description.
+     * @return The predicted label, or null if the fast path is disabled, not trained yet, or has no evidence.
+     */
+    public static String classify(String description) {
+        HashedNaiveBayes model = sharedModel;
+        return enabled && model != null ? model.classify(description) : null;
+    }
+
+    /**
+     * Classifies a description with the user's model, or the shared model if the user's is not trained. Never blocks.
+     *
+     * @param userId The ID of the user.
+     * @param description The transaction description.
+     * @return The predicted label (a category name of the user, or a seed label such as "Food"),
+     *         or null if the fast path is disabled, not trained yet, or has no evidence.
+     */
+    public static String classify(int userId, String description) {
+        if (!enabled) {
+            return null;
+        }
+        HashedNaiveBayes model = USER_MODELS.get(userId);
+        return model != null ? model.classify(description) : classify(description);
+    }
+}
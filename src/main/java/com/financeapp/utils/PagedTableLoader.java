@@ -0,0 +1,180 @@
+// src/main/java/com/financeapp/utils/PagedTableLoader.java
+package com.financeapp.utils;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.transformation.SortedList;
+import javafx.concurrent.Task;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lazily fills a TableView page by page as the user scrolls.
+ * <p>
+ * The TableView already renders only the visible rows; this class makes sure only the pages the user
+ * has actually scrolled to are loaded from the database. When the vertical scroll bar gets close to the
+ * bottom, the next page is fetched through a keyset {@link PageFetcher} and appended to the table's items.
+ * Pages are fetched on the {@link BackgroundExecutor}, never on the JavaFX application thread; a progress
+ * indicator is shown as the table placeholder while the first page is loading.
+ * <p>
+ * The table shows the rows through a {@link SortedList} bound to the table's sort order, so sorting by a
+ * column header reorders the view only; rows stay in fetch order underneath, and the keyset cursor is always
+ * the last row fetched.
+ *
+ * @param <T> The row type of the table.
+ */
+public class PagedTableLoader<T> {
+
+    /**
+     * Fetches the page that follows a given row.
+     *
+     * @param <T> The row type.
+     */
+    @FunctionalInterface
+    public interface PageFetcher<T> {
+        /**
+         * @param lastItem The last row already loaded, or null for the first page.
+         * @param limit The maximum number of rows to return.
+         * @return The next rows, or an empty list when there are no more.
+         */
+        List<T> fetchPage(T lastItem, int limit);
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(PagedTableLoader.class.getName());
+
+    // Load the next page once the user has scrolled past this fraction of the loaded rows
+    private static final double PREFETCH_THRESHOLD = 0.85;
+
+    private final TableView<T> table;
+    private final int pageSize;
+    private final PageFetcher<T> fetcher;
+    private final ObservableList<T> items = FXCollections.observableArrayList(); // In fetch order
+
+    private final Node emptyPlaceholder;
+    private final ProgressIndicator loadingPlaceholder = new ProgressIndicator();
+
+    private ScrollBar verticalScrollBar;
+    private T lastFetched; // Keyset cursor: the last row of the last page, or null before the first page
+    private boolean exhausted;
+    private Task<List<T>> pendingPage; // The page currently being fetched, if any
+
+    /**
+     * Binds a paged data source to the given table. Call {@link #reload()} to load the first page.
+     *
+     * @param table The table to fill.
+     * @param pageSize The number of rows fetched per page.
+     * @param fetcher Fetches the page after a given row.
+     */
+    public PagedTableLoader(TableView<T> table, int pageSize, PageFetcher<T> fetcher) {
+        this.table = table;
+        this.pageSize = pageSize;
+        this.fetcher = fetcher;
+        this.emptyPlaceholder = table.getPlaceholder();
+        SortedList<T> sortedItems = new SortedList<>(items);
+        sortedItems.comparatorProperty().bind(table.comparatorProperty());
+        table.setItems(sortedItems);
+        // The scroll bar only exists once the table skin has been created and laid out
+        table.skinProperty().addListener((observable, oldSkin, newSkin) -> Platform.runLater(this::attachScrollListener));
+        if (table.getSkin() != null) {
+            attachScrollListener();
+        }
+    }
+
+    /**
+     * Discards all loaded rows and loads the first page again. A page still being fetched for the
+     * previous contents is cancelled and its rows are never shown.
+     */
+    public void reload() {
+        cancel();
+        items.clear();
+        lastFetched = null;
+        exhausted = false;
+        loadNextPage();
+    }
+
+    /**
+     * Starts fetching the next page in the background and appends it to the table when it arrives.
+     * Does nothing if every row has already been loaded or a page is already being fetched.
+     */
+    public void loadNextPage() {
+        if (exhausted || pendingPage != null) {
+            return;
+        }
+        T lastItem = lastFetched;
+        Task<List<T>> task = new Task<List<T>>() {
+            @Override
+            protected List<T> call() {
+                return fetcher.fetchPage(lastItem, pageSize);
+            }
+        };
+        task.setOnSucceeded(event -> {
+            if (pendingPage != task) {
+                return; // Superseded by a reload
+            }
+            finishPage();
+            List<T> page = task.getValue();
+            if (page.size() < pageSize) {
+                exhausted = true; // A short page means we reached the end
+            }
+            if (!page.isEmpty()) {
+                lastFetched = page.get(page.size() - 1);
+            }
+            items.addAll(page);
+        });
+        task.setOnFailed(event -> {
+            if (pendingPage == task) {
+                finishPage();
+            }
+            LOGGER.log(Level.WARNING, "Failed to load table page: " + task.getException().getMessage(), task.getException());
+        });
+
+        pendingPage = task;
+        table.setPlaceholder(loadingPlaceholder);
+        BackgroundExecutor.submit(task);
+    }
+
+    /**
+     * Cancels the page currently being fetched, if any.
+     */
+    public void cancel() {
+        if (pendingPage != null) {
+            pendingPage.cancel(true);
+            finishPage();
+        }
+    }
+
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    private void finishPage() {
+        pendingPage = null;
+        table.setPlaceholder(emptyPlaceholder);
+    }
+
+    private void attachScrollListener() {
+        if (verticalScrollBar != null) {
+            return;
+        }
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar && ((ScrollBar) node).getOrientation() == Orientation.VERTICAL) {
+                verticalScrollBar = (ScrollBar) node;
+                verticalScrollBar.valueProperty().addListener((observable, oldValue, newValue) -> {
+                    double max = verticalScrollBar.getMax();
+                    if (max > 0 && newValue.doubleValue() >= max * PREFETCH_THRESHOLD) {
+                        loadNextPage();
+                    }
+                });
+                return;
+            }
+        }
+    }
+}
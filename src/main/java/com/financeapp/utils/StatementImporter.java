@@ -0,0 +1,469 @@
+// src/main/java/com/financeapp/utils/StatementImporter.java
+package com.financeapp.utils;
+
+import com.financeapp.dao.CategoryDAO;
+import com.financeapp.dao.TransactionDAO;
+import com.financeapp.model.Category;
+import com.financeapp.model.Transaction;
+import javafx.concurrent.Task;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Imports a bank statement CSV file into one of the user's accounts.
+ * <p>
+ * Expected format, one transaction per line (an optional header line is skipped):
+ * <pre>
+ * date,description,amount
+ * 2025-03-07,"Dominos Pizza, MG Road",-450.00
+ * 2025-03-01,Salary deposit,52000
+ * </pre>
+ * Dates are ISO (yyyy-MM-dd). Negative amounts are expenses, positive amounts are income; an amount may be quoted
+ * and use thousands separators ("-1,234.50"). The description is everything between the first comma and the last
+ * comma outside quotes, optionally quoted ("" escapes a quote); it may not span lines.
+ * <p>
+ * The file is memory-mapped in windows and parsed directly from the mapped bytes, so large exports are imported
+ * in bounded memory: only the description of each row becomes a String. A parser thread hands batches of rows
+ * to this task through a small bounded queue, and this task writes them with
+ * {@link TransactionDAO#addTransactions(List, int)}; when the database falls behind the queue fills up and the
+ * parser waits. Each row's category is taken from the user's existing categories: first by a category name that
+ * appears in the description, otherwise by mapping {@link WekaPredictor#predictCategory(int, String)} onto them.
+ * <p>
+ * Progress (bytes parsed) and a status message are published through the Task's progress and message properties.
+ * The task's value is the number of rows imported.
+ */
+public class StatementImporter extends Task<Integer> {
+
+    private static final Logger LOGGER = Logger.getLogger(StatementImporter.class.getName());
+
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024; // Bytes of the file mapped at a time
+    private static final int BATCH_SIZE = 1000; // Rows written to the database at once
+    private static final int QUEUE_CAPACITY = 4; // Parsed batches waiting for the database before the parser blocks
+    private static final int CATEGORY_CACHE_SIZE = 10_000; // Descriptions remembered per type; most recently used are kept
+    private static final List<Transaction> END_OF_INPUT = new ArrayList<>(); // Queue sentinel, compared by identity
+    private static final ThreadFactory PARSER_THREADS = BackgroundExecutor.daemonThreadFactory("statement-parser");
+
+    private final Path file;
+    private final int userId;
+    private final int accountId;
+    private final TransactionDAO transactionDAO = new TransactionDAO();
+    private final CategoryDAO categoryDAO = new CategoryDAO();
+    private final BlockingQueue<List<Transaction>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    // Used by the parser thread only
+    private final Map<String, Category> incomeCategoryByDescription = newCategoryCache();
+    private final Map<String, Category> expenseCategoryByDescription = newCategoryCache();
+    private byte[] descriptionBytes = new byte[256];
+    private List<Category> incomeCategories;
+    private List<Category> expenseCategories;
+
+    private long fileSize;
+    private volatile long bytesParsed;
+    private volatile int skippedRows;
+    private volatile Exception parserError;
+
+    /**
+     * @param file The CSV statement file.
+     * @param userId The ID of the user importing the statement.
+     * @param accountId The ID of the account the transactions belong to.
+     */
+    public StatementImporter(Path file, int userId, int accountId) {
+        this.file = file;
+        this.userId = userId;
+        this.accountId = accountId;
+    }
+
+    /**
+     * @return The number of lines that could not be parsed or had no matching category, so far.
+     */
+    public int getSkippedRows() {
+        return skippedRows;
+    }
+
+    @Override
+    protected Integer call() throws Exception {
+        incomeCategories = categoryDAO.getCategoriesByUserIdAndType(userId, "Income");
+        expenseCategories = categoryDAO.getCategoriesByUserIdAndType(userId, "Expense");
+
+        int imported = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            fileSize = channel.size();
+            updateMessage("Importing " + file.getFileName() + "...");
+
+            Thread parser = PARSER_THREADS.newThread(() -> runParser(channel));
+            parser.start();
+            try {
+                while (true) {
+                    List<Transaction> batch = queue.take();
+                    if (batch == END_OF_INPUT) {
+                        break;
+                    }
+                    int added = transactionDAO.addTransactions(batch, batch.size());
+                    imported += added;
+                    if (added < batch.size()) {
+                        throw new IllegalStateException("The database rejected a batch; " + imported + " rows were imported before it.");
+                    }
+                    updateProgress(bytesParsed, fileSize);
+                    updateMessage(String.format("Imported %d rows (%d skipped)...", imported, skippedRows));
+                }
+            } finally {
+                parser.interrupt(); // Stops the parser if we finished early (error or cancellation)
+                parser.join();
+            }
+        }
+        if (parserError != null) {
+            throw new IOException("Could not read " + file.getFileName() + " after importing " + imported + " rows.", parserError);
+        }
+
+        updateProgress(1, 1);
+        updateMessage(String.format("Imported %d rows (%d skipped).", imported, skippedRows));
+        LOGGER.log(Level.INFO, "Imported " + imported + " transactions from " + file + ", skipped " + skippedRows + " lines.");
+        return imported;
+    }
+
+    /**
+     * Parser thread body: parses the file and always ends the queue with {@link #END_OF_INPUT},
+     * unless the importing task has already stopped.
+     */
+    private void runParser(FileChannel channel) {
+        try {
+            parse(channel);
+        } catch (InterruptedException e) {
+            return; // The importing task stopped consuming
+        } catch (Exception e) {
+            parserError = e;
+        }
+        try {
+            queue.put(END_OF_INPUT);
+        } catch (InterruptedException e) {
+            // The importing task stopped consuming
+        }
+    }
+
+    /**
+     * Maps the file window by window and queues the parsed rows in batches.
+     * A line that crosses the end of a window is parsed again from the start of the next window.
+     */
+    private void parse(FileChannel channel) throws IOException, InterruptedException {
+        List<Transaction> batch = new ArrayList<>(BATCH_SIZE);
+        boolean firstLine = true;
+        long windowStart = 0;
+
+        while (windowStart < fileSize) {
+            long windowLength = Math.min(WINDOW_SIZE, fileSize - windowStart);
+            boolean lastWindow = windowStart + windowLength == fileSize;
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowLength);
+            int limit = window.limit();
+            int lineStart = 0;
+
+            while (lineStart < limit) {
+                int lineEnd = indexOf(window, (byte) '\n', lineStart, limit);
+                if (lineEnd < 0) {
+                    if (!lastWindow) {
+                        break; // The rest of this line is in the next window
+                    }
+                    lineEnd = limit;
+                }
+
+                Transaction transaction = parseLine(window, lineStart, lineEnd, firstLine);
+                firstLine = false;
+                if (transaction != null) {
+                    batch.add(transaction);
+                    if (batch.size() == BATCH_SIZE) {
+                        queue.put(batch); // Blocks while the database is behind
+                        batch = new ArrayList<>(BATCH_SIZE);
+                    }
+                }
+                lineStart = lineEnd + 1;
+                bytesParsed = windowStart + Math.min(lineStart, limit);
+            }
+
+            if (lineStart == 0 && !lastWindow) {
+                throw new IOException("Line longer than " + WINDOW_SIZE + " bytes at offset " + windowStart + ".");
+            }
+            windowStart += Math.min(lineStart, limit);
+        }
+        if (!batch.isEmpty()) {
+            queue.put(batch);
+        }
+    }
+
+    /**
+     * Parses one line (without its line terminator) into a transaction.
+     *
+     * @return The transaction, or null for blank lines, the header line and lines that cannot be imported.
+     */
+    private Transaction parseLine(MappedByteBuffer buffer, int start, int end, boolean firstLine) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        if (firstLine && end - start >= 3
+                && buffer.get(start) == (byte) 0xEF && buffer.get(start + 1) == (byte) 0xBB && buffer.get(start + 2) == (byte) 0xBF) {
+            start += 3; // UTF-8 byte order mark
+        }
+        if (start == end) {
+            return null; // Blank line
+        }
+        if (firstLine && !isDigit(buffer.get(start))) {
+            return null; // Header line
+        }
+
+        int firstComma = indexOf(buffer, (byte) ',', start, end);
+        if (firstComma < 0) {
+            return skip();
+        }
+        int lastComma = lastUnquotedComma(buffer, firstComma, end);
+        if (lastComma == firstComma) {
+            return skip();
+        }
+
+        LocalDate date = parseDate(buffer, start, firstComma);
+        double amount = parseAmount(buffer, lastComma + 1, end);
+        if (date == null || Double.isNaN(amount) || amount == 0) {
+            return skip();
+        }
+        String description = parseDescription(buffer, firstComma + 1, lastComma);
+
+        boolean income = amount > 0;
+        Category category = resolveCategory(description, income);
+        if (category == null) {
+            return skip(); // The user has no category of this type
+        }
+        return new Transaction(userId, accountId, category.getCategoryId(), Math.abs(amount),
+                income ? "Income" : "Expense", description, date);
+    }
+
+    private Transaction skip() {
+        skippedRows++;
+        return null;
+    }
+
+    /**
+     * Parses a yyyy-MM-dd date from the given bytes.
+     *
+     * @return The date, or null if the bytes are not a valid date.
+     */
+    private static LocalDate parseDate(MappedByteBuffer buffer, int start, int end) {
+        while (start < end && buffer.get(start) == ' ') start++;
+        while (end > start && buffer.get(end - 1) == ' ') end--;
+        if (end - start != 10 || buffer.get(start + 4) != '-' || buffer.get(start + 7) != '-') {
+            return null;
+        }
+        int year = parseDigits(buffer, start, start + 4);
+        int month = parseDigits(buffer, start + 5, start + 7);
+        int day = parseDigits(buffer, start + 8, start + 10);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a decimal amount such as -1234.50, +99 or -1,234.50 from the given bytes. Commas are only accepted
+     * as thousands separators, i.e. followed by exactly three digits, so "1,5" is rejected rather than read as 15.
+     *
+     * @return The amount, or NaN if the bytes are not a valid amount.
+     */
+    private static double parseAmount(MappedByteBuffer buffer, int start, int end) {
+        while (start < end && (buffer.get(start) == ' ' || buffer.get(start) == '"')) start++;
+        while (end > start && (buffer.get(end - 1) == ' ' || buffer.get(end - 1) == '"')) end--;
+        if (start == end) {
+            return Double.NaN;
+        }
+        boolean negative = false;
+        byte first = buffer.get(start);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            start++;
+        }
+        long mantissa = 0;
+        int scale = -1; // Digits after the decimal point, -1 until the point is seen
+        int groupDigits = -1; // Digits since the last thousands separator, -1 until one is seen
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '.' && scale < 0 && (groupDigits < 0 || groupDigits == 3)) {
+                scale = 0;
+                groupDigits = -1;
+            } else if (b == ',' && scale < 0 && i > start && (groupDigits < 0 || groupDigits == 3)) {
+                groupDigits = 0;
+            } else if (isDigit(b) && mantissa < Long.MAX_VALUE / 10) {
+                mantissa = mantissa * 10 + (b - '0');
+                if (scale >= 0) scale++;
+                if (groupDigits >= 0) groupDigits++;
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (groupDigits >= 0 && groupDigits != 3) {
+            return Double.NaN;
+        }
+        double amount = mantissa / Math.pow(10, Math.max(scale, 0));
+        return negative ? -amount : amount;
+    }
+
+    /**
+     * Decodes the description field, removing surrounding quotes and un-escaping doubled quotes.
+     */
+    private String parseDescription(MappedByteBuffer buffer, int start, int end) {
+        while (start < end && buffer.get(start) == ' ') start++;
+        while (end > start && buffer.get(end - 1) == ' ') end--;
+        boolean quoted = end - start >= 2 && buffer.get(start) == '"' && buffer.get(end - 1) == '"';
+        if (quoted) {
+            start++;
+            end--;
+        }
+        if (descriptionBytes.length < end - start) {
+            descriptionBytes = new byte[Math.max(end - start, descriptionBytes.length * 2)];
+        }
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (quoted && b == '"' && i + 1 < end && buffer.get(i + 1) == '"') {
+                i++; // "" inside a quoted field is one quote
+            }
+            descriptionBytes[length++] = b;
+        }
+        return new String(descriptionBytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return An access-ordered map that drops its least recently used entry beyond {@link #CATEGORY_CACHE_SIZE},
+     *         so files with many distinct descriptions are still imported in bounded memory.
+     */
+    private static Map<String, Category> newCategoryCache() {
+        return new LinkedHashMap<String, Category>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Category> eldest) {
+                return size() > CATEGORY_CACHE_SIZE;
+            }
+        };
+    }
+
+    /**
+     * Picks the user's category for a description, caching the result per description.
+     *
+     * @param description The transaction description.
+     * @param income true for income rows, false for expense rows.
+     * @return The category, or null if the user has no category of that type.
+     */
+    private Category resolveCategory(String description, boolean income) {
+        List<Category> candidates = income ? incomeCategories : expenseCategories;
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        Map<String, Category> cache = income ? incomeCategoryByDescription : expenseCategoryByDescription;
+        // Keyed by the exact text, which is what the (case-sensitive) predictor sees
+        Category category = cache.get(description);
+        if (category == null) {
+            category = findCategoryNamedIn(description.toLowerCase(Locale.ROOT), candidates);
+            if (category == null) {
+                category = matchPredictedCategory(WekaPredictor.predictCategory(userId, description), candidates);
+            }
+            cache.put(description, category);
+        }
+        return category;
+    }
+
+    /**
+     * Returns the category whose name appears in the (lower-cased) description, e.g. "Rent" in "March rent".
+     */
+    private static Category findCategoryNamedIn(String lowerCaseDescription, List<Category> candidates) {
+        for (Category candidate : candidates) {
+            if (lowerCaseDescription.contains(candidate.getCategoryName().toLowerCase(Locale.ROOT))) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Maps a classifier label (e.g. "Food", "OtherExpense") onto the user's categories: an exact name match,
+     * then a name containing the label (e.g. "Food & Groceries"), then an "Other..." category, then the first one.
+     */
+    private static Category matchPredictedCategory(String label, List<Category> candidates) {
+        String lowerCaseLabel = label.toLowerCase(Locale.ROOT);
+        for (Category candidate : candidates) {
+            if (candidate.getCategoryName().equalsIgnoreCase(label)) {
+                return candidate;
+            }
+        }
+        for (Category candidate : candidates) {
+            if (candidate.getCategoryName().toLowerCase(Locale.ROOT).contains(lowerCaseLabel)) {
+                return candidate;
+            }
+        }
+        for (Category candidate : candidates) {
+            if (candidate.getCategoryName().toLowerCase(Locale.ROOT).startsWith("other")) {
+                return candidate;
+            }
+        }
+        return candidates.get(0);
+    }
+
+    private static int parseDigits(MappedByteBuffer buffer, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (!isDigit(b)) {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static int indexOf(MappedByteBuffer buffer, byte target, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the last comma outside double quotes, so a quoted last field such as "1,234.50" stays whole.
+     * A doubled quote inside a quoted field toggles the state twice and so leaves it unchanged.
+     *
+     * @param from The index of a field separator (not inside quotes) to start after.
+     * @return The index of the last unquoted comma, or {@code from} if there is none after it.
+     */
+    private static int lastUnquotedComma(MappedByteBuffer buffer, int from, int to) {
+        int last = from;
+        boolean quoted = false;
+        for (int i = from + 1; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b == '"') {
+                quoted = !quoted;
+            } else if (b == ',' && !quoted) {
+                last = i;
+            }
+        }
+        return last;
+    }
+}
@@ -0,0 +1,116 @@
+// src/main/java/com/financeapp/utils/TransactionCsvExporter.java
+package com.financeapp.utils;
+
+import com.financeapp.dao.TransactionDAO;
+import com.financeapp.model.Transaction;
+import javafx.concurrent.Task;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Exports every transaction in the database to a CSV file (for admins).
+ * <p>
+ * Rows are streamed from {@link TransactionDAO#forEachTransaction(java.util.function.Consumer)} straight into a
+ * buffered writer, so memory use does not depend on the number of transactions. The task's value is the number
+ * of rows written; progress and a status message are published through the Task's properties.
+ */
+public class TransactionCsvExporter extends Task<Long> {
+
+    private static final Logger LOGGER = Logger.getLogger(TransactionCsvExporter.class.getName());
+    private static final int PROGRESS_INTERVAL = 5000; // Rows between progress updates
+
+    private final Path file;
+    private final TransactionDAO transactionDAO = new TransactionDAO();
+
+    /**
+     * @param file The CSV file to write; it is replaced if it exists.
+     */
+    public TransactionCsvExporter(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    protected Long call() throws Exception {
+        long expectedRows = transactionDAO.getGlobalStatistics().getTransactionCount(); // Only used for progress
+        long[] written = {0};
+        updateMessage("Exporting transactions...");
+
+        long streamed;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("transaction_id,user_id,date,type,category,account,amount,description");
+            writer.newLine();
+            streamed = transactionDAO.forEachTransaction(transaction -> {
+                if (isCancelled()) {
+                    throw new CancellationException("Export cancelled.");
+                }
+                try {
+                    writeRow(writer, transaction);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (++written[0] % PROGRESS_INTERVAL == 0) {
+                    updateProgress(written[0], Math.max(expectedRows, written[0]));
+                    updateMessage(String.format("Exported %d of about %d transactions...", written[0], expectedRows));
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (streamed < 0) {
+            throw new SQLException("Could not read all transactions; " + file.getFileName() + " is incomplete.");
+        }
+
+        updateProgress(1, 1);
+        updateMessage(String.format("Exported %d transactions.", streamed));
+        LOGGER.log(Level.INFO, "Exported " + streamed + " transactions to " + file);
+        return streamed;
+    }
+
+    private static void writeRow(Writer writer, Transaction transaction) throws IOException {
+        writer.write(Integer.toString(transaction.getTransactionId()));
+        writer.write(',');
+        writer.write(Integer.toString(transaction.getUserId()));
+        writer.write(',');
+        writer.write(transaction.getTransactionDate().toString());
+        writer.write(',');
+        writer.write(transaction.getType());
+        writer.write(',');
+        writeField(writer, transaction.getCategoryName());
+        writer.write(',');
+        writeField(writer, transaction.getAccountName());
+        writer.write(',');
+        writer.write(String.format(Locale.ROOT, "%.2f", transaction.getAmount()));
+        writer.write(',');
+        writeField(writer, transaction.getDescription());
+        writer.write('\n');
+    }
+
+    /**
+     * Writes a text field, quoting it if it contains a comma, quote or line break.
+     */
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
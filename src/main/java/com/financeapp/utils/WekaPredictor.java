@@ -1,42 +1,146 @@
 package com.financeapp.utils;
 
+import javafx.application.Platform;
 import weka.classifiers.Classifier;
+import weka.classifiers.meta.FilteredClassifier;
 import weka.core.Attribute;
 import weka.core.DenseInstance;
 import weka.core.Instance;
 import weka.core.Instances;
+import weka.core.Utils;
 import weka.core.converters.ArffLoader;
 import weka.filters.Filter;
 import weka.filters.unsupervised.attribute.StringToWordVector;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.CRC32;
 
 /**
  * Utility class for loading Weka models and making predictions/classifications.
  * Handles both the category classification model and the expense prediction model.
  *
  * NOTE: This version is adjusted for Weka 3.8.x which does not have StringToWordVector.setStopwords(boolean).
+ * <p>
+ * The models are loaded once per application run, in the background: {@link #initializeAsync()} is called from
+ * {@code Main.start} so loading overlaps with the login screen. Predictions requested before loading finishes
+ * wait for it; on the JavaFX application thread they return the "not available" result instead of blocking.
  */
 public class WekaPredictor {
 
     private static final Logger LOGGER = Logger.getLogger(WekaPredictor.class.getName());
 
-    private static Classifier categoryClassifier;
-    private static Instances categoryDatasetHeader; // Header for creating new instances (raw ARFF header)
-    private static StringToWordVector categoryFilter; // Filter for text data (trained on ARFF)
+    /**
+     * The loaded models and the headers and filter needed to build their input instances.
+     */
+    private static final class Models {
+        private Classifier categoryClassifier;
+        private Instances categoryDatasetHeader; // Header for creating new instances (raw ARFF header)
+        private StringToWordVector categoryFilter; // Filter for text data (trained on ARFF); null if the classifier filters itself
+        private CategoryVectorizer categoryVectorizer; // Lock-free fast path; null if the filter settings are not supported
+
+        private Classifier expensePredictor;
+        private Instances expenseDatasetHeader; // Header for expense prediction
+    }
+
+    private static CompletableFuture<Models> models; // Guarded by WekaPredictor.class; set once
+
+    // Predictions are counted rather than logged one by one; they are made categories x users times
+    private static final LongAdder CATEGORY_PREDICTIONS = new LongAdder();
+    private static final LongAdder EXPENSE_PREDICTIONS = new LongAdder();
+    private static final LongAdder EXPENSE_PREDICTION_FAILURES = new LongAdder();
+
+    /**
+     * Private constructor to prevent instantiation, as this is a utility class with static methods.
+     */
+    private WekaPredictor() {
+        // Private constructor
+    }
 
-    private static Classifier expensePredictor;
-    private static Instances expenseDatasetHeader; // Header for expense prediction
+    /**
+     * Starts loading the Weka models on a background thread, unless loading has already been started.
+     * Safe to call any number of times from any thread; the models are loaded only once.
+     *
+     * @return A future completed when the models are loaded, or completed exceptionally if loading failed.
+     */
+    public static synchronized CompletableFuture<Void> initializeAsync() {
+        if (models == null) {
+            Executor initThread = runnable -> BackgroundExecutor.daemonThreadFactory("weka-init").newThread(runnable).start();
+            models = CompletableFuture.supplyAsync(WekaPredictor::loadModels, initThread);
+            // Then the naive Bayes fast path; it does not need the Weka models to have loaded
+            models.whenCompleteAsync((loaded, error) -> NaiveBayesCategorizer.trainSeed(), initThread);
+        }
+        return models.thenApply(loaded -> null);
+    }
 
     /**
-     * Initializes the Weka models. This method should be called once at application startup.
-     * It loads the pre-trained models and their corresponding ARFF headers.
-     * It also initializes the StringToWordVector filter for text processing.
+     * Loads the Weka models and waits for them. Prefer {@link #initializeAsync()}, which does not block.
+     * Shows an error dialog if loading fails and this is called on the JavaFX application thread.
      */
     public static void initialize() {
+        try {
+            initializeAsync().join();
+        } catch (RuntimeException e) {
+            if (Platform.isFxApplicationThread()) {
+                showInitializationError();
+            }
+        }
+    }
+
+    /**
+     * Shows the error dialog for models that could not be loaded. Must be called on the JavaFX application thread.
+     */
+    public static void showInitializationError() {
+        AlertUtil.showError("Weka Initialization Error", "Failed to load AI models.",
+                "Please ensure 'category_classifier.model', 'category_classifier.arff', 'expense_predictor.model', and 'expense_predictor.arff' are correctly placed in 'src/main/resources/com/financeapp/weka_models/' and are valid Weka files. Also, ensure you trained the category classifier with StringToWordVector filter correctly.");
+    }
+
+    /**
+     * Returns the loaded models, waiting for loading to finish if necessary.
+     *
+     * @return The models, or null if loading failed, or if it has not finished and this is the JavaFX
+     *         application thread (which must never wait for it).
+     */
+    private static Models awaitModels() {
+        CompletableFuture<Models> loading;
+        synchronized (WekaPredictor.class) {
+            if (models == null) {
+                initializeAsync();
+            }
+            loading = models;
+        }
+        if (!loading.isDone() && Platform.isFxApplicationThread()) {
+            LOGGER.log(Level.WARNING, "Weka models are still loading; prediction skipped on the UI thread.");
+            return null;
+        }
+        try {
+            return loading.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null; // Already logged by loadModels()
+        }
+    }
+
+    /**
+     * Loads the pre-trained models and their corresponding ARFF headers, and the StringToWordVector filter
+     * for text processing (from the {@link CategoryModelBundle} when it is current). Runs on a background thread.
+     *
+     * @return The loaded models.
+     * @throws IllegalStateException If a model or ARFF file is missing or invalid.
+     */
+    private static Models loadModels() {
+        long start = System.nanoTime();
+        Models loaded = new Models();
         try {
             // --- Load Category Classifier Model ---
             InputStream categoryModelStream = WekaPredictor.class.getResourceAsStream("/com/financeapp/weka_models/category_classifier.model");
@@ -44,35 +148,26 @@ public class WekaPredictor {
                 LOGGER.log(Level.SEVERE, "category_classifier.model not found in resources!");
                 throw new Exception("Model file not found.");
             }
-            ObjectInputStream oisCategory = new ObjectInputStream(categoryModelStream);
-            categoryClassifier = (Classifier) oisCategory.readObject();
+            byte[] categoryModelBytes;
+            try (InputStream in = categoryModelStream) {
+                categoryModelBytes = in.readAllBytes(); // Kept to checksum the model, see CategoryModelBundle
+            }
+            ObjectInputStream oisCategory = new ObjectInputStream(new ByteArrayInputStream(categoryModelBytes));
+            loaded.categoryClassifier = (Classifier) oisCategory.readObject();
             oisCategory.close();
 
-            // --- Load Category Classifier ARFF header and initialize StringToWordVector filter ---
-            InputStream categoryArffStream = WekaPredictor.class.getResourceAsStream("/com/financeapp/weka_models/category_classifier.arff");
-            if (categoryArffStream == null) {
-                LOGGER.log(Level.SEVERE, "category_classifier.arff not found in resources!");
-                throw new Exception("ARFF header file not found.");
+            // --- Load the header and fitted filter from the cached bundle, or rebuild them from the ARFF ---
+            CRC32 checksum = new CRC32();
+            checksum.update(categoryModelBytes);
+            Path bundleFile = CategoryModelBundle.defaultLocation();
+            CategoryModelBundle bundle = CategoryModelBundle.load(bundleFile, checksum.getValue());
+            if (bundle == null) {
+                bundle = buildCategoryBundle(loaded.categoryClassifier, checksum.getValue());
+                bundle.save(bundleFile);
             }
-            ArffLoader arffLoaderCategory = new ArffLoader();
-            arffLoaderCategory.setSource(categoryArffStream);
-
-            // Get the full dataset from the ARFF to initialize the filter's vocabulary
-            Instances categoryTrainingData = arffLoaderCategory.getDataSet();
-            categoryTrainingData.setClassIndex(categoryTrainingData.numAttributes() - 1); // Set class attribute (e.g., 'category')
-
-            // Store the header for creating new instances later. This header should reflect the *original* ARFF structure.
-            categoryDatasetHeader = new Instances(categoryTrainingData, 0); // Create an empty Instances with the same header
-
-            // Initialize and "train" the StringToWordVector filter on the full training data.
-            // This is crucial for the filter to learn the vocabulary used during model training.
-            categoryFilter = new StringToWordVector();
-            categoryFilter.setAttributeIndices("first"); // Apply to the 'description' attribute (assumed to be first)
-            categoryFilter.setOutputWordCounts(true);
-            categoryFilter.setLowerCaseTokens(true);
-            // categoryFilter.setStopwords(false); // REMOVED: This method does not exist in Weka 3.8.x
-            categoryFilter.setInputFormat(categoryTrainingData); // This builds the filter's dictionary
-
+            loaded.categoryDatasetHeader = bundle.getHeader();
+            loaded.categoryFilter = bundle.getFilter();
+            loaded.categoryVectorizer = createCategoryVectorizer(loaded.categoryClassifier, loaded.categoryFilter);
 
             // --- Load Expense Predictor Model ---
             InputStream expenseModelStream = WekaPredictor.class.getResourceAsStream("/com/financeapp/weka_models/expense_predictor.model");
@@ -81,7 +176,7 @@ public class WekaPredictor {
                 throw new Exception("Model file not found.");
             }
             ObjectInputStream oisExpense = new ObjectInputStream(expenseModelStream);
-            expensePredictor = (Classifier) oisExpense.readObject();
+            loaded.expensePredictor = (Classifier) oisExpense.readObject();
             oisExpense.close();
 
             // --- Load Expense Predictor ARFF header ---
@@ -92,30 +187,148 @@ public class WekaPredictor {
             }
             ArffLoader arffLoaderExpense = new ArffLoader();
             arffLoaderExpense.setSource(expenseArffStream);
-            expenseDatasetHeader = arffLoaderExpense.getDataSet();
-            expenseDatasetHeader.setClassIndex(expenseDatasetHeader.numAttributes() - 1); // Set class attribute (MonthlySpending)
+            loaded.expenseDatasetHeader = arffLoaderExpense.getStructure(); // Only the header is used
+            loaded.expenseDatasetHeader.setClassIndex(loaded.expenseDatasetHeader.numAttributes() - 1); // Set class attribute (MonthlySpending)
 
-            LOGGER.log(Level.INFO, "Weka models initialized successfully.");
+            LOGGER.log(Level.INFO, "Weka models initialized successfully in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+            return loaded;
 
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Failed to initialize Weka models: " + e.getMessage(), e);
-            AlertUtil.showError("Weka Initialization Error", "Failed to load AI models.",
-                    "Please ensure 'category_classifier.model', 'category_classifier.arff', 'expense_predictor.model', and 'expense_predictor.arff' are correctly placed in 'src/main/resources/com/financeapp/weka_models/' and are valid Weka files. Also, ensure you trained the category classifier with StringToWordVector filter correctly.");
+            throw new IllegalStateException("Failed to initialize Weka models: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Predicts the category of a transaction based on its description.
+     * Builds the category classifier's header and filter from {@code category_classifier.arff}.
+     * <p>
+     * A FilteredClassifier (which is how the bundled model is trained) applies its own fitted StringToWordVector,
+     * so only the ARFF header is read. Filtering its input beforehand as well would hand it word-count attributes
+     * instead of the description, so every description would be classified as if it had no known words.
+     * Only a bare classifier needs the vocabulary rebuilt from the full training data.
+     *
+     * @param categoryClassifier The loaded category model.
+     * @param modelChecksum CRC-32 of the serialized model.
+     * @return The bundle for the model.
+     * @throws Exception If the ARFF file is missing or invalid.
+     */
+    private static CategoryModelBundle buildCategoryBundle(Classifier categoryClassifier, long modelChecksum) throws Exception {
+        InputStream categoryArffStream = WekaPredictor.class.getResourceAsStream("/com/financeapp/weka_models/category_classifier.arff");
+        if (categoryArffStream == null) {
+            LOGGER.log(Level.SEVERE, "category_classifier.arff not found in resources!");
+            throw new Exception("ARFF header file not found.");
+        }
+        ArffLoader arffLoaderCategory = new ArffLoader();
+        arffLoaderCategory.setSource(categoryArffStream);
+
+        if (categoryClassifier instanceof FilteredClassifier) {
+            Instances header = arffLoaderCategory.getStructure(); // Attribute declarations only; no data is parsed
+            header.setClassIndex(header.numAttributes() - 1); // Set class attribute (e.g., 'category')
+            return new CategoryModelBundle(modelChecksum, header, null);
+        }
+
+        // Get the full dataset from the ARFF to initialize the filter's vocabulary
+        Instances categoryTrainingData = arffLoaderCategory.getDataSet();
+        categoryTrainingData.setClassIndex(categoryTrainingData.numAttributes() - 1); // Set class attribute (e.g., 'category')
+
+        // Initialize and "train" the StringToWordVector filter on the full training data.
+        // This is crucial for the filter to learn the vocabulary used during model training.
+        StringToWordVector categoryFilter = new StringToWordVector();
+        categoryFilter.setAttributeIndices("first"); // Apply to the 'description' attribute (assumed to be first)
+        categoryFilter.setOutputWordCounts(true);
+        categoryFilter.setLowerCaseTokens(true);
+        // categoryFilter.setStopwords(false); // REMOVED: This method does not exist in Weka 3.8.x
+        categoryFilter.setInputFormat(categoryTrainingData); // This builds the filter's dictionary
+        Filter.useFilter(categoryTrainingData, categoryFilter); // Completes the first batch, so later batches reuse the dictionary
+
+        // Store the header for creating new instances later. This header should reflect the *original* ARFF structure.
+        return new CategoryModelBundle(modelChecksum, new Instances(categoryTrainingData, 0), categoryFilter);
+    }
+
+    /**
+     * Compiles the fitted text filter (the FilteredClassifier's own, or the bundle's for a bare classifier)
+     * for {@link CategoryVectorizer}.
+     *
+     * @return The vectorizer, or null if predictions must go through the Weka filter.
+     */
+    private static CategoryVectorizer createCategoryVectorizer(Classifier categoryClassifier, StringToWordVector categoryFilter) {
+        CategoryVectorizer vectorizer = null;
+        if (categoryClassifier instanceof FilteredClassifier) {
+            FilteredClassifier filtered = (FilteredClassifier) categoryClassifier;
+            if (filtered.getFilter() instanceof StringToWordVector) {
+                vectorizer = CategoryVectorizer.create((StringToWordVector) filtered.getFilter(), filtered.getClassifier());
+            }
+        } else if (categoryFilter != null) {
+            vectorizer = CategoryVectorizer.create(categoryFilter, categoryClassifier);
+        }
+        if (vectorizer == null) {
+            LOGGER.log(Level.INFO, "Category model's text filter is not supported by the fast path; predictions use the Weka filter.");
+        }
+        return vectorizer;
+    }
+
+    /**
+     * Predicts the category of a transaction based on its description, with the shared naive Bayes model
+     * (see {@link NaiveBayesCategorizer}) when it is enabled and has evidence, otherwise with the Weka model.
+     * Waits for the Weka models if they are still loading (see {@link #awaitModels()}).
+     * Thread-safe; with the shipped model, concurrent calls do not contend for a lock.
      *
      * @param description The description of the transaction.
      * @return The predicted category string, or "Unknown" if prediction fails.
      */
     public static String predictCategory(String description) {
-        if (categoryClassifier == null || categoryDatasetHeader == null || categoryFilter == null) {
+        String fastLabel = NaiveBayesCategorizer.classify(description);
+        if (fastLabel != null) {
+            CATEGORY_PREDICTIONS.increment();
+            return fastLabel;
+        }
+        return predictCategoryWithWeka(description);
+    }
+
+    /**
+     * Predicts the category of a user's transaction based on its description, preferring the user's own
+     * naive Bayes model (see {@link NaiveBayesCategorizer}) and falling back to the Weka model.
+     *
+     * @param userId The ID of the user.
+     * @param description The description of the transaction.
+     * @return The predicted category: one of the user's category names or a model label such as "Food",
+     *         or "Unknown" if prediction fails.
+     */
+    public static String predictCategory(int userId, String description) {
+        String fastLabel = NaiveBayesCategorizer.classify(userId, description);
+        if (fastLabel != null) {
+            CATEGORY_PREDICTIONS.increment();
+            return fastLabel;
+        }
+        return predictCategoryWithWeka(description);
+    }
+
+    private static String predictCategoryWithWeka(String description) {
+        Models loaded = awaitModels();
+        if (loaded == null) {
             LOGGER.log(Level.WARNING, "Weka category classifier or its components not initialized.");
             return "Unknown";
         }
 
+        if (loaded.categoryVectorizer != null) {
+            try {
+                String predictedCategory = loaded.categoryVectorizer.classValue(loaded.categoryVectorizer.classify(description));
+                CATEGORY_PREDICTIONS.increment();
+                return predictedCategory;
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error predicting category for description: '" + description + "'", e);
+                return "Unknown";
+            }
+        }
+
+        // Weka filters and classifiers keep per-call state and predictions may be requested from background threads
+        synchronized (loaded.categoryClassifier) {
+            return classifyCategory(loaded.categoryClassifier, loaded.categoryDatasetHeader, loaded.categoryFilter, description);
+        }
+    }
+
+    private static String classifyCategory(Classifier categoryClassifier, Instances categoryDatasetHeader,
+                                           StringToWordVector categoryFilter, String description) {
         try {
             // Create a new Instances object with the same header as the *raw* training data, with one instance
             Instances unlabeled = new Instances(categoryDatasetHeader, 1);
@@ -137,19 +350,18 @@ public class WekaPredictor {
             // Add the instance to the Instances object
             unlabeled.add(newInstance);
 
-            // Apply the pre-trained StringToWordVector filter to the single instance
-            // The filter will transform the string description into a vector based on its learned vocabulary.
-            Instances filteredInstances = Filter.useFilter(unlabeled, categoryFilter);
-
-            // Get the single transformed instance for classification
-            Instance instanceToClassify = filteredInstances.instance(0);
+            // Apply the pre-trained StringToWordVector filter to the single instance, unless the classifier filters
+            // its own input. The filter will transform the string description into a vector based on its learned vocabulary.
+            Instance instanceToClassify = categoryFilter == null
+                    ? unlabeled.instance(0)
+                    : Filter.useFilter(unlabeled, categoryFilter).instance(0);
 
             // Classify the instance
             double clsLabel = categoryClassifier.classifyInstance(instanceToClassify);
 
             // Get the predicted class value (using the class attribute from the original header for its nominal values)
             String predictedCategory = categoryDatasetHeader.classAttribute().value((int) clsLabel);
-            LOGGER.log(Level.INFO, "Predicted category for '" + description + "': " + predictedCategory);
+            CATEGORY_PREDICTIONS.increment();
             return predictedCategory;
 
         } catch (Exception e) {
@@ -160,6 +372,8 @@ public class WekaPredictor {
 
     /**
      * Predicts the next month's spending for a given category based on historical data.
+     * Waits for the models if they are still loading, like {@link #predictCategory(String)}.
+     * To predict for several categories, use {@link #predictNextMonthExpenses(String[], double[][])}.
      *
      * @param category       The category for which to predict spending.
      * @param pastSpendingM1 Spending from 1 month ago.
@@ -168,38 +382,103 @@ public class WekaPredictor {
      * @return The predicted spending amount, or 0.0 if prediction fails.
      */
     public static double predictNextMonthExpense(String category, double pastSpendingM1, double pastSpendingM2, double pastSpendingM3) {
-        if (expensePredictor == null || expenseDatasetHeader == null) {
+        return predictNextMonthExpenses(new String[]{category},
+                new double[][]{{pastSpendingM3, pastSpendingM2, pastSpendingM1}})[0];
+    }
+
+    /**
+     * Predicts the next month's spending for many categories at once: one dataset is built for all rows
+     * and they are classified in a single pass under one lock. Waits for the models if they are still loading.
+     *
+     * @param categories The category of each row.
+     * @param history    One row per category with the spending of the last three months, oldest first
+     *                   ({@code [M3, M2, M1]}), as returned by {@code TransactionDAO.getMonthlyExpenseMatrix}.
+     * @return The predicted spending per row; 0.0 for rows that could not be predicted
+     *         (e.g. a category the model was not trained on), or for every row if the model is not available.
+     */
+    public static double[] predictNextMonthExpenses(String[] categories, double[][] history) {
+        if (categories.length != history.length) {
+            throw new IllegalArgumentException("One history row per category expected: " + categories.length + " != " + history.length);
+        }
+        double[] predictions = new double[categories.length];
+        Models loaded = awaitModels();
+        if (loaded == null) {
             LOGGER.log(Level.WARNING, "Weka expense predictor not initialized.");
-            return 0.0;
+            EXPENSE_PREDICTION_FAILURES.add(categories.length);
+            return predictions;
         }
 
-        try {
-            // Create a new Instances object with the same header as the expense prediction training data, with one instance.
-            Instances unlabeled = new Instances(expenseDatasetHeader, 1);
-            unlabeled.setClassIndex(unlabeled.numAttributes() - 1); // MonthlySpending is the last attribute
+        synchronized (loaded.expensePredictor) {
+            classifyExpenses(loaded.expensePredictor, loaded.expenseDatasetHeader, categories, history, predictions);
+        }
+        return predictions;
+    }
 
-            Instance newInstance = new DenseInstance(unlabeled.numAttributes());
-            newInstance.setDataset(unlabeled);
+    private static void classifyExpenses(Classifier expensePredictor, Instances expenseDatasetHeader,
+                                         String[] categories, double[][] history, double[] predictions) {
+        // Create a new Instances object with the same header as the expense prediction training data, with room for every row.
+        Instances unlabeled = new Instances(expenseDatasetHeader, categories.length);
+        unlabeled.setClassIndex(unlabeled.numAttributes() - 1); // MonthlySpending is the last attribute
+
+        // Attributes are looked up by name for robustness against column order changes:
+        // Category, PastSpendingM1, PastSpendingM2, PastSpendingM3, MonthlySpending
+        Attribute categoryAttr = unlabeled.attribute("Category");
+        int m1Index = unlabeled.attribute("PastSpendingM1").index();
+        int m2Index = unlabeled.attribute("PastSpendingM2").index();
+        int m3Index = unlabeled.attribute("PastSpendingM3").index();
+
+        int[] rows = new int[categories.length]; // Dataset position of each row, or -1 if the row is skipped
+        for (int i = 0; i < categories.length; i++) {
+            int categoryValue = categoryAttr.indexOfValue(categories[i]);
+            if (categoryValue < 0) {
+                rows[i] = -1; // Not a category the model knows
+                EXPENSE_PREDICTION_FAILURES.increment();
+                continue;
+            }
+            double[] values = new double[unlabeled.numAttributes()];
+            values[categoryAttr.index()] = categoryValue;
+            values[m1Index] = history[i][2];
+            values[m2Index] = history[i][1];
+            values[m3Index] = history[i][0];
+            values[unlabeled.classIndex()] = Utils.missingValue();
+            rows[i] = unlabeled.numInstances();
+            unlabeled.add(new DenseInstance(1.0, values));
+        }
 
-            // Set attribute values. The order of attributes MUST match the ARFF header:
-            // Category, PastSpendingM1, PastSpendingM2, PastSpendingM3, MonthlySpending
-            // Get attribute by name for robustness against column order changes.
-            newInstance.setValue(unlabeled.attribute("Category"), category);
-            newInstance.setValue(unlabeled.attribute("PastSpendingM1"), pastSpendingM1);
-            newInstance.setValue(unlabeled.attribute("PastSpendingM2"), pastSpendingM2);
-            newInstance.setValue(unlabeled.attribute("PastSpendingM3"), pastSpendingM3);
+        for (int i = 0; i < categories.length; i++) {
+            if (rows[i] < 0) {
+                continue;
+            }
+            try {
+                // Predict the numerical value
+                predictions[i] = expensePredictor.classifyInstance(unlabeled.instance(rows[i]));
+                EXPENSE_PREDICTIONS.increment();
+            } catch (Exception e) {
+                EXPENSE_PREDICTION_FAILURES.increment();
+                LOGGER.log(Level.SEVERE, "Error predicting expense for category '" + categories[i] + "'", e);
+            }
+        }
+    }
 
-            // Add the instance to the Instances object
-            unlabeled.add(newInstance);
+    /**
+     * @return The number of category predictions made since startup.
+     */
+    public static long getCategoryPredictionCount() {
+        return CATEGORY_PREDICTIONS.sum();
+    }
 
-            // Predict the numerical value
-            double prediction = expensePredictor.classifyInstance(unlabeled.instance(0));
-            LOGGER.log(Level.INFO, "Predicted expense for category '" + category + "': " + prediction);
-            return prediction;
+    /**
+     * @return The number of expense predictions made since startup.
+     */
+    public static long getExpensePredictionCount() {
+        return EXPENSE_PREDICTIONS.sum();
+    }
 
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error predicting expense for category '" + category + "'", e);
-            return 0.0;
-        }
+    /**
+     * @return The number of expense predictions that could not be made since startup (reported as 0.0),
+     *         e.g. for categories the model was not trained on.
+     */
+    public static long getExpensePredictionFailureCount() {
+        return EXPENSE_PREDICTION_FAILURES.sum();
     }
 }
@@ -0,0 +1,328 @@
+// src/main/java/com/financeapp/utils/ZoomableDateChart.java
+package com.financeapp.utils;
+
+import javafx.animation.PauseTransition;
+import javafx.concurrent.Task;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.util.Duration;
+import javafx.util.StringConverter;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shows a daily time series in a LineChart with a date-valued {@link NumberAxis} (epoch days), downsampled to
+ * the chart's width and with mouse zoom and pan.
+ * <p>
+ * However long the history, the series never has more points than the x axis has pixels: points are picked with
+ * {@link ChartDownsampler#largestTriangleThreeBuckets}, which keeps peaks visible. Scrolling zooms around the mouse
+ * pointer, dragging pans, and double-clicking shows the full range again. After the visible window settles, the
+ * window's data is re-fetched through the {@link RangeLoader} on the {@link BackgroundExecutor}, so zooming in shows
+ * every day in the window once it fits.
+ */
+public class ZoomableDateChart {
+
+    /**
+     * Loads the daily values for a date window.
+     */
+    @FunctionalInterface
+    public interface RangeLoader {
+        /**
+         * @param from The first day of the window (inclusive).
+         * @param to The last day of the window (inclusive).
+         * @return The values per day, for days that have one.
+         */
+        Map<LocalDate, Double> load(LocalDate from, LocalDate to);
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(ZoomableDateChart.class.getName());
+
+    private static final double ZOOM_STEP = 0.8;          // Fraction of the window kept per scroll step when zooming in
+    private static final double MIN_WINDOW_DAYS = 7;
+    private static final int TICK_COUNT = 8;
+    private static final int MIN_POINTS = 3;              // Fallback before the axis has been laid out
+    private static final Duration FETCH_DELAY = Duration.millis(250); // Wait for zooming/panning to settle
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("MMM dd");
+    private static final DateTimeFormatter DAY_YEAR_FORMAT = DateTimeFormatter.ofPattern("MMM dd ''yy");
+
+    private final LineChart<Number, Number> chart;
+    private final NumberAxis xAxis;
+    private final String seriesName;
+    private final RangeLoader loader;
+    private final PauseTransition fetchDelay = new PauseTransition(FETCH_DELAY);
+
+    private NavigableMap<LocalDate, Double> fullData = new TreeMap<>();
+    private NavigableMap<LocalDate, Double> windowData = new TreeMap<>(); // Best data known for the current window
+    private double windowDataFrom; // The range windowData was loaded for
+    private double windowDataTo;
+    private double fullFrom;
+    private double fullTo;
+    private double viewFrom;
+    private double viewTo;
+    private double dragStartX;
+    private double dragStartViewFrom;
+    private Task<Map<LocalDate, Double>> pendingFetch;
+
+    /**
+     * Attaches zoom, pan and downsampling to the given chart. Call {@link #setData(Map)} to show data.
+     *
+     * @param chart The chart; its x axis must be {@code xAxis}.
+     * @param xAxis The chart's x axis, whose values are epoch days.
+     * @param seriesName The legend name of the series.
+     * @param loader Loads a window's data; runs on a background thread.
+     */
+    public ZoomableDateChart(LineChart<Number, Number> chart, NumberAxis xAxis, String seriesName, RangeLoader loader) {
+        this.chart = chart;
+        this.xAxis = xAxis;
+        this.seriesName = seriesName;
+        this.loader = loader;
+
+        chart.setCreateSymbols(false); // One node per point is what makes large LineCharts slow
+        chart.setAnimated(false);
+        xAxis.setAutoRanging(false);
+        xAxis.setForceZeroInRange(false);
+        xAxis.setMinorTickVisible(false);
+        xAxis.setTickLabelFormatter(new StringConverter<Number>() {
+            @Override
+            public String toString(Number epochDay) {
+                DateTimeFormatter format = viewTo - viewFrom > 300 ? DAY_YEAR_FORMAT : DAY_FORMAT;
+                return LocalDate.ofEpochDay(Math.round(epochDay.doubleValue())).format(format);
+            }
+
+            @Override
+            public Number fromString(String text) {
+                return null; // Not used; the axis is not editable
+            }
+        });
+
+        fetchDelay.setOnFinished(event -> fetchWindow());
+        xAxis.widthProperty().addListener((observable, oldWidth, newWidth) -> render()); // Re-sample for the new width
+        chart.addEventHandler(ScrollEvent.SCROLL, this::handleScroll);
+        chart.addEventHandler(MouseEvent.MOUSE_PRESSED, this::handleMousePressed);
+        chart.addEventHandler(MouseEvent.MOUSE_DRAGGED, this::handleMouseDragged);
+        chart.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> {
+            if (event.getButton() == MouseButton.PRIMARY && event.getClickCount() == 2) {
+                resetZoom();
+            }
+        });
+    }
+
+    /**
+     * Shows a new full data set and resets the zoom to its whole date range.
+     *
+     * @param data The values per day, for the whole history.
+     */
+    public void setData(Map<LocalDate, Double> data) {
+        cancel();
+        fullData = new TreeMap<>(data);
+        if (fullData.isEmpty()) {
+            long today = LocalDate.now().toEpochDay();
+            fullFrom = today - MIN_WINDOW_DAYS;
+            fullTo = today;
+        } else {
+            fullFrom = fullData.firstKey().toEpochDay();
+            fullTo = Math.max(fullData.lastKey().toEpochDay(), fullFrom + MIN_WINDOW_DAYS);
+        }
+        resetZoom();
+    }
+
+    /**
+     * Cancels a window fetch that is waiting or running.
+     */
+    public void cancel() {
+        fetchDelay.stop();
+        if (pendingFetch != null) {
+            pendingFetch.cancel(true);
+            pendingFetch = null;
+        }
+    }
+
+    private void resetZoom() {
+        cancel();
+        viewFrom = fullFrom;
+        viewTo = fullTo;
+        useFullData();
+        render();
+    }
+
+    private void useFullData() {
+        windowData = fullData;
+        windowDataFrom = fullFrom;
+        windowDataTo = fullTo;
+    }
+
+    private void handleScroll(ScrollEvent event) {
+        if (event.getDeltaY() == 0 || fullData.isEmpty()) {
+            return;
+        }
+        double anchor = dayAt(event.getSceneX(), event.getSceneY());
+        double factor = event.getDeltaY() > 0 ? ZOOM_STEP : 1 / ZOOM_STEP;
+        double span = Math.max(MIN_WINDOW_DAYS, Math.min(fullTo - fullFrom, (viewTo - viewFrom) * factor));
+        double from = anchor - (anchor - viewFrom) * span / (viewTo - viewFrom);
+        setWindow(from, from + span);
+        event.consume();
+    }
+
+    private void handleMousePressed(MouseEvent event) {
+        dragStartX = event.getX();
+        dragStartViewFrom = viewFrom;
+    }
+
+    private void handleMouseDragged(MouseEvent event) {
+        double axisWidth = xAxis.getWidth();
+        if (axisWidth <= 0 || fullData.isEmpty()) {
+            return;
+        }
+        double span = viewTo - viewFrom;
+        double from = dragStartViewFrom - (event.getX() - dragStartX) / axisWidth * span;
+        setWindow(from, from + span);
+    }
+
+    /**
+     * Moves the visible window (kept inside the full range), redraws it from the data at hand,
+     * and schedules a fetch of the window's full-resolution data.
+     */
+    private void setWindow(double from, double to) {
+        double span = to - from;
+        if (from < fullFrom) {
+            from = fullFrom;
+            to = from + span;
+        }
+        if (to > fullTo) {
+            to = fullTo;
+            from = Math.max(fullFrom, to - span);
+        }
+        if (from == viewFrom && to == viewTo) {
+            return;
+        }
+        viewFrom = from;
+        viewTo = to;
+        if (windowDataFrom > viewFrom || windowDataTo < viewTo) {
+            useFullData(); // The fetched window no longer covers the view; fall back until the next fetch returns
+        }
+        render();
+        if (from <= fullFrom && to >= fullTo) {
+            cancel(); // Back to the full range, which is already loaded
+            useFullData();
+            return;
+        }
+        fetchDelay.playFromStart();
+    }
+
+    /**
+     * Fetches the current window's data in the background and shows it, unless the window has moved on.
+     */
+    private void fetchWindow() {
+        if (pendingFetch != null) {
+            pendingFetch.cancel(true);
+        }
+        double requestedFrom = viewFrom;
+        double requestedTo = viewTo;
+        LocalDate from = LocalDate.ofEpochDay((long) Math.floor(requestedFrom));
+        LocalDate to = LocalDate.ofEpochDay((long) Math.ceil(requestedTo));
+        Task<Map<LocalDate, Double>> fetch = new Task<Map<LocalDate, Double>>() {
+            @Override
+            protected Map<LocalDate, Double> call() {
+                return loader.load(from, to);
+            }
+        };
+        fetch.setOnSucceeded(event -> {
+            if (pendingFetch != fetch) {
+                return; // Superseded by a newer window
+            }
+            pendingFetch = null;
+            windowData = new TreeMap<>(fetch.getValue());
+            windowDataFrom = from.toEpochDay();
+            windowDataTo = to.toEpochDay();
+            if (windowDataFrom <= viewFrom && windowDataTo >= viewTo) {
+                render();
+            } else {
+                useFullData(); // The view moved outside the fetched window while it was loading
+            }
+        });
+        fetch.setOnFailed(event -> {
+            if (pendingFetch == fetch) {
+                pendingFetch = null;
+            }
+            LOGGER.log(Level.WARNING, "Could not load chart window: " + fetch.getException().getMessage(), fetch.getException());
+        });
+        pendingFetch = fetch;
+        BackgroundExecutor.submit(fetch);
+    }
+
+    /**
+     * Draws the part of the best known data inside the visible window, downsampled to one point per pixel.
+     */
+    private void render() {
+        xAxis.setLowerBound(viewFrom);
+        xAxis.setUpperBound(viewTo);
+        xAxis.setTickUnit(Math.max(1, (viewTo - viewFrom) / TICK_COUNT));
+
+        // Include the neighbours just outside the window so the line runs to the chart's edges
+        LocalDate first = LocalDate.ofEpochDay((long) Math.floor(viewFrom));
+        LocalDate last = LocalDate.ofEpochDay((long) Math.ceil(viewTo));
+        LocalDate before = windowData.lowerKey(first);
+        LocalDate after = windowData.higherKey(last);
+        NavigableMap<LocalDate, Double> visible = windowData.subMap(
+                before != null ? before : first, true, after != null ? after : last, true);
+
+        List<XYChart.Data<Number, Number>> points = new ArrayList<>();
+        for (Map.Entry<LocalDate, Double> entry : downsample(visible, Math.max(MIN_POINTS, (int) xAxis.getWidth())).entrySet()) {
+            points.add(new XYChart.Data<>(entry.getKey().toEpochDay(), entry.getValue()));
+        }
+        XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        series.setName(seriesName);
+        series.getData().setAll(points);
+        chart.getData().setAll(Collections.singletonList(series));
+    }
+
+    /**
+     * Reduces a daily series to at most {@code maxPoints} days with {@link ChartDownsampler#largestTriangleThreeBuckets}.
+     *
+     * @param data The values per day.
+     * @param maxPoints The maximum number of days to keep.
+     * @return The kept days and their values, sorted by date.
+     */
+    public static NavigableMap<LocalDate, Double> downsample(Map<LocalDate, Double> data, int maxPoints) {
+        NavigableMap<LocalDate, Double> sorted = data instanceof NavigableMap ? (NavigableMap<LocalDate, Double>) data : new TreeMap<>(data);
+        if (sorted.size() <= maxPoints) {
+            return sorted;
+        }
+        double[] x = new double[sorted.size()];
+        double[] y = new double[sorted.size()];
+        int i = 0;
+        for (Map.Entry<LocalDate, Double> entry : sorted.entrySet()) {
+            x[i] = entry.getKey().toEpochDay();
+            y[i] = entry.getValue();
+            i++;
+        }
+        NavigableMap<LocalDate, Double> kept = new TreeMap<>();
+        for (int index : ChartDownsampler.largestTriangleThreeBuckets(x, y, maxPoints)) {
+            kept.put(LocalDate.ofEpochDay((long) x[index]), y[index]);
+        }
+        return kept;
+    }
+
+    /**
+     * Converts a scene position to the epoch day under it on the x axis.
+     */
+    private double dayAt(double sceneX, double sceneY) {
+        double axisX = xAxis.sceneToLocal(sceneX, sceneY).getX();
+        double day = xAxis.getValueForDisplay(axisX).doubleValue();
+        return Math.max(viewFrom, Math.min(viewTo, day));
+    }
+}